@@ -5,25 +5,52 @@ import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 public class BaseClient {
+    private static final Set<String> NOT_FORWARDED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "upgrade"
+    );
+
     protected final RestTemplate rest;
+    @Nullable
+    private final ResponseCache responseCache;
+    private final ConcurrentMap<InFlightKey, CompletableFuture<ResponseEntity<Object>>> inFlight =
+            new ConcurrentHashMap<>();
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache responseCache) {
         this.rest = rest;
+        this.responseCache = responseCache;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatusCode status,
+                                                                 @Nullable HttpHeaders headers,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!NOT_FORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    responseBuilder.header(name, values.toArray(String[]::new));
+                }
+            });
+        }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
@@ -45,6 +72,53 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> getCached(String path) {
+        return getCached(path, null);
+    }
+
+    protected ResponseEntity<Object> getCached(String path, long userId) {
+        return getCached(path, Long.valueOf(userId));
+    }
+
+    private ResponseEntity<Object> getCached(String path, @Nullable Long userId) {
+        ResponseCache cache = responseCache;
+        if (cache == null) {
+            return get(path, userId, null);
+        }
+
+        URI uri = rest.getUriTemplateHandler().expand(path);
+        return coalesce(uri, userId, () -> revalidate(cache, uri, userId));
+    }
+
+    private ResponseEntity<Object> revalidate(ResponseCache responseCache, URI uri, @Nullable Long userId) {
+        ResponseCache.CachedResponse cached = responseCache.get(uri, userId);
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.eTag());
+        }
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        } catch (HttpStatusCodeException e) {
+            responseCache.invalidate(uri, userId);
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+
+        if (cached != null && shareitServerResponse.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return prepareGatewayResponse(HttpStatus.OK, cached.headers(), cached.body());
+        }
+
+        String eTag = shareitServerResponse.getHeaders().getETag();
+        byte[] body = shareitServerResponse.getBody();
+        if (shareitServerResponse.getStatusCode().is2xxSuccessful() && eTag != null && body != null) {
+            responseCache.put(uri, userId, new ResponseCache.CachedResponse(eTag, shareitServerResponse.getHeaders(), body));
+        } else {
+            responseCache.invalidate(uri, userId);
+        }
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(), body);
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -94,22 +168,64 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+
+        if (method == HttpMethod.GET) {
+            return coalesce(uri, userId, () -> sendRequest(method, uri, userId, body));
+        }
+
+        ResponseEntity<Object> response = sendRequest(method, uri, userId, body);
+        if (responseCache != null) {
+            responseCache.invalidateAll(uri);
+        }
+        return response;
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, URI uri, Long userId, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            shareitServerResponse = rest.exchange(uri, method, requestEntity, byte[].class);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    private ResponseEntity<Object> coalesce(URI uri, @Nullable Long userId, Supplier<ResponseEntity<Object>> call) {
+        InFlightKey key = new InFlightKey(uri, userId);
+        CompletableFuture<ResponseEntity<Object>> ownCall = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> sharedCall = inFlight.putIfAbsent(key, ownCall);
+
+        if (sharedCall != null) {
+            try {
+                return sharedCall.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            ResponseEntity<Object> response = call.get();
+            ownCall.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Ждущие в join() потоки должны получить ошибку любого типа, иначе они зависнут навсегда
+            ownCall.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, ownCall);
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private HttpHeaders defaultHeaders(@Nullable Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
@@ -118,4 +234,7 @@ public class BaseClient {
         }
         return headers;
     }
+
+    private record InFlightKey(URI uri, @Nullable Long userId) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package ru.yandex.practicum;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Component
+public class ResponseCache {
+    private final Cache<Key, CachedResponse> cache;
+
+    public ResponseCache(@Value("${shareit-gateway.cache.maximum-size}") long maximumSize,
+                         @Value("${shareit-gateway.cache.expire-after-write}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    @Nullable
+    public CachedResponse get(URI uri, @Nullable Long userId) {
+        return cache.getIfPresent(new Key(uri, userId));
+    }
+
+    public void put(URI uri, @Nullable Long userId, CachedResponse response) {
+        cache.put(new Key(uri, userId), response);
+    }
+
+    public void invalidate(URI uri, @Nullable Long userId) {
+        cache.invalidate(new Key(uri, userId));
+    }
+
+    public void invalidateAll(URI uri) {
+        cache.asMap().keySet().removeIf(key -> key.uri().equals(uri));
+    }
+
+    public record CachedResponse(String eTag, HttpHeaders headers, byte[] body) {
+    }
+
+    private record Key(URI uri, @Nullable Long userId) {
+    }
+}
@@ -4,11 +4,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.yandex.practicum.BaseClient;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -16,22 +19,19 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getBookings(Long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(Long userId, BookingState state, Integer from, Integer size,
+                                              LocalDateTime afterStart, Long afterId) {
+        return getPage("", userId, state, from, size, afterStart, afterId);
     }
 
 
@@ -47,10 +47,27 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(Long userId, String state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state
-        );
-        return get("/owner", userId, parameters);
+    public ResponseEntity<Object> approvedBookings(long userId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, decisions);
+    }
+
+    public ResponseEntity<Object> getBookingsByOwner(Long userId, BookingState state, Integer from, Integer size,
+                                                     LocalDateTime afterStart, Long afterId) {
+        return getPage("/owner", userId, state, from, size, afterStart, afterId);
+    }
+
+    private ResponseEntity<Object> getPage(String path, Long userId, BookingState state, Integer from, Integer size,
+                                           LocalDateTime afterStart, Long afterId) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+        if (afterStart == null || afterId == null) {
+            return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("afterStart", afterStart);
+        parameters.put("afterId", afterId);
+        return get(path + "?state={state}&from={from}&size={size}&afterStart={afterStart}&afterId={afterId}", userId, parameters);
     }
 }
\ No newline at end of file
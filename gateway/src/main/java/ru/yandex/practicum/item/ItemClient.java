@@ -4,10 +4,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.yandex.practicum.BaseClient;
+import ru.yandex.practicum.ResponseCache;
+
+import java.time.LocalDateTime;
+import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
@@ -15,12 +19,14 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache
         );
     }
 
@@ -33,15 +39,37 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getItemById(int userId, int itemId) {
-        return get("/" + itemId, userId);
+        return getCached("/" + itemId, userId);
     }
 
     public ResponseEntity<Object> getAllItems(int userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> searchItems(int userId, String text) {
-        return get("/search?text=" + text, userId);
+    public ResponseEntity<Object> searchItems(int userId, String text, Integer from, Integer size, Boolean fuzzy) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size,
+                "fuzzy", fuzzy
+        );
+        return get("/search?text={text}&from={from}&size={size}&fuzzy={fuzzy}", (long) userId, parameters);
+    }
+
+    public ResponseEntity<Object> autocomplete(int userId, String prefix, Integer limit) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "limit", limit
+        );
+        return get("/autocomplete?prefix={prefix}&limit={limit}", (long) userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(int userId, int itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", (long) userId, parameters);
     }
 
     public ResponseEntity<Object> addComment(int userId, int itemId, CommentRequestDto requestDto) {
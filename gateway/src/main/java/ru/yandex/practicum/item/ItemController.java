@@ -1,13 +1,18 @@
 package ru.yandex.practicum.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 @Slf4j
@@ -50,15 +55,41 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") int userId,
-                                              @RequestParam String text) {
-        log.info("Поиск предметов по запросу: '{}', пользователем с id: {}", text, userId);
+                                              @RequestParam String text,
+                                              @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                              @Positive @RequestParam(defaultValue = "10") Integer size,
+                                              @RequestParam(defaultValue = "false") Boolean fuzzy) {
+        log.info("Поиск предметов по запросу: '{}', пользователем с id: {}, from={}, size={}, fuzzy={}",
+                text, userId, from, size, fuzzy);
 
         if (text == null || text.trim().isEmpty()) {
             log.info("Пустой запрос, возвращаем пустую коллекцию");
             return ResponseEntity.ok(Collections.emptyList());
         }
 
-        return itemClient.searchItems(userId, text);
+        return itemClient.searchItems(userId, text, from, size, fuzzy);
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<Object> autocomplete(@RequestHeader("X-Sharer-User-Id") int userId,
+                                               @RequestParam String prefix,
+                                               @Positive @Max(20) @RequestParam(defaultValue = "10") Integer limit) {
+        log.info("Подсказки по префиксу: '{}', пользователем с id: {}, limit={}", prefix, userId, limit);
+
+        if (prefix.isEmpty()) {
+            return ResponseEntity.ok(Collections.emptyList());
+        }
+
+        return itemClient.autocomplete(userId, prefix, limit);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                  @PathVariable int itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Получение занятости предмета с id: {} с {} по {}, пользователем с id: {}", itemId, from, to, userId);
+        return itemClient.getAvailability(userId, itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
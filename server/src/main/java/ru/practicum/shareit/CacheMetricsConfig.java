@@ -0,0 +1,31 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+@Configuration
+public class CacheMetricsConfig {
+
+    // Регионы кэша второго уровня живут в JCache-менеджере Hibernate: попадания, промахи и вытеснения
+    // берутся из статистики JCache (monitoring.statistics в hibernate-cache.conf) и видны в /actuator/metrics
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            JCacheRegionFactory regionFactory = (JCacheRegionFactory) entityManagerFactory
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getCache()
+                    .getRegionFactory();
+            CacheManager cacheManager = regionFactory.getCacheManager();
+            for (String region : new String[]{"users", "items", "requests"}) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(region));
+            }
+        };
+    }
+}
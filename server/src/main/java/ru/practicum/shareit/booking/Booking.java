@@ -3,6 +3,8 @@ package ru.practicum.shareit.booking;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import ru.practicum.shareit.extra.BookingStatusEnum;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
@@ -16,9 +18,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Table(name = "bookings")
+@NamedEntityGraph(name = "Booking.details",
+        attributeNodes = {
+                @NamedAttributeNode("item"),
+                @NamedAttributeNode("booker")
+        })
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Integer id;
 
     @Column(name = "start_date")
@@ -27,14 +35,19 @@ public class Booking {
     @Column(name = "end_date")
     private LocalDateTime end;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User booker;
 
     @Enumerated(EnumType.STRING)
     private BookingStatusEnum status;
+
+    @Version
+    private Long version;
 }
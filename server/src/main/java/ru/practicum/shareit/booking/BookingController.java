@@ -1,12 +1,17 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.interfaces.BookingService;
 import ru.practicum.shareit.extra.State;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
@@ -28,6 +33,12 @@ public class BookingController {
         return BookingMapper.toBookingDto(bookingService.approvedBooking(userId, bookingId, approved));
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> approvedBookings(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                           @RequestBody List<BookingDecisionDto> decisions) {
+        return bookingService.approvedBookings(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@RequestHeader("X-Sharer-User-Id") Integer userId,
                                      @PathVariable int bookingId) {
@@ -36,13 +47,30 @@ public class BookingController {
 
     @GetMapping
     public Collection<BookingDto> getBookingsByBooker(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                      @RequestParam(defaultValue = "ALL") State state) {
-        return BookingMapper.toBookingDtoList(bookingService.getBookingsByBooker(userId, state));
+                                                      @RequestParam(defaultValue = "ALL") State state,
+                                                      @RequestParam(defaultValue = "0") int from,
+                                                      @RequestParam(defaultValue = "10") int size,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                                      @RequestParam(required = false) Integer afterId) {
+        return BookingMapper.toBookingDtoList(bookingService.getBookingsByBooker(userId, state,
+                scrollPosition(from, afterStart, afterId), size));
     }
 
     @GetMapping("/owner")
     public Collection<BookingDto> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                     @RequestParam(defaultValue = "ALL") State state) {
-        return BookingMapper.toBookingDtoList(bookingService.getBookingsByOwner(userId, state));
+                                                     @RequestParam(defaultValue = "ALL") State state,
+                                                     @RequestParam(defaultValue = "0") int from,
+                                                     @RequestParam(defaultValue = "10") int size,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                                     @RequestParam(required = false) Integer afterId) {
+        return BookingMapper.toBookingDtoList(bookingService.getBookingsByOwner(userId, state,
+                scrollPosition(from, afterStart, afterId), size));
+    }
+
+    private static ScrollPosition scrollPosition(int from, LocalDateTime afterStart, Integer afterId) {
+        if (afterStart != null && afterId != null) {
+            return ScrollPosition.forward(Map.of("start", afterStart, "id", afterId));
+        }
+        return from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
     }
 }
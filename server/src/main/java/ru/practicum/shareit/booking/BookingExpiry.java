@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingExpiryWheel.Expiry;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.extra.AfterCommit;
+import ru.practicum.shareit.extra.BookingStatusEnum;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class BookingExpiry {
+    private static final int BATCH_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final BookingExpiryWheel wheel;
+    private final Counter expired;
+    private final Timer lag;
+
+    public BookingExpiry(BookingRepository bookingRepository, ItemAvailabilityIndex itemAvailabilityIndex,
+                         TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                         @Value("${shareit-server.booking-expiry.enabled}") boolean enabled,
+                         @Value("${shareit-server.booking-expiry.tick}") Duration tick,
+                         @Value("${shareit-server.booking-expiry.wheel-size}") int wheelSize) {
+        this.bookingRepository = bookingRepository;
+        this.itemAvailabilityIndex = itemAvailabilityIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.wheel = new BookingExpiryWheel(tick, wheelSize, LocalDateTime.now());
+        this.expired = Counter.builder("bookings.expiry.expired")
+                .description("Бронирования, отменённые без решения владельца")
+                .register(meterRegistry);
+        this.lag = Timer.builder("bookings.expiry.lag")
+                .description("Задержка отмены относительно даты начала бронирования")
+                .register(meterRegistry);
+        Gauge.builder("bookings.expiry.pending", wheel, BookingExpiryWheel::size)
+                .description("Бронирования в ожидании решения, за которыми следит колесо")
+                .register(meterRegistry);
+    }
+
+    // Колесо заполняется один раз при старте, дальше его поддерживают create и решения владельца
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        List<Booking> waiting = bookingRepository.findAllByStatus(BookingStatusEnum.WAITING);
+        for (Booking booking : waiting) {
+            wheel.schedule(booking.getId(), booking.getItem().getId(), booking.getStart());
+        }
+        log.info("Отслеживается истечение {} бронирований в статусе WAITING", waiting.size());
+    }
+
+    public void track(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        int bookingId = booking.getId();
+        int itemId = booking.getItem().getId();
+        LocalDateTime start = booking.getStart();
+        boolean waiting = booking.getStatus() == BookingStatusEnum.WAITING;
+
+        AfterCommit.run(() -> {
+            if (waiting) {
+                wheel.schedule(bookingId, itemId, start);
+            } else {
+                wheel.cancel(bookingId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${shareit-server.booking-expiry.tick}",
+            initialDelayString = "${shareit-server.booking-expiry.tick}")
+    public void expire() {
+        if (enabled) {
+            expire(LocalDateTime.now());
+        }
+    }
+
+    int expire(LocalDateTime now) {
+        List<Expiry> due = wheel.advance(now);
+        int total = 0;
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            List<Expiry> batch = due.subList(from, Math.min(from + BATCH_SIZE, due.size()));
+            List<Expiry> canceled;
+            try {
+                canceled = transactionTemplate.execute(status -> cancel(batch));
+            } catch (RuntimeException e) {
+                // Сбой базы или транзакции: эта и все оставшиеся пачки возвращаются в колесо до следующего тика
+                log.error("Не удалось отменить просроченные бронирования, повтор на следующем тике", e);
+                due.subList(from, due.size())
+                        .forEach(expiry -> wheel.schedule(expiry.bookingId(), expiry.itemId(), expiry.deadline()));
+                break;
+            }
+            for (Expiry expiry : canceled) {
+                lag.record(Duration.between(expiry.deadline(), now));
+            }
+            expired.increment(canceled.size());
+            total += canceled.size();
+        }
+        return total;
+    }
+
+    // UPDATE затрагивает только WAITING: бронирование, по которому владелец успел принять решение, не меняется
+    private List<Expiry> cancel(List<Expiry> batch) {
+        Map<Integer, Expiry> byId = batch.stream()
+                .collect(Collectors.toMap(Expiry::bookingId, Function.identity()));
+        int count = bookingRepository.updateStatusByIdInAndStatus(byId.keySet(),
+                BookingStatusEnum.WAITING, BookingStatusEnum.CANCELED);
+        List<Expiry> canceled = count == batch.size() ? batch
+                : bookingRepository.findIdsByIdInAndStatus(byId.keySet(), BookingStatusEnum.CANCELED).stream()
+                .map(byId::get)
+                .toList();
+
+        for (Expiry expiry : canceled) {
+            itemAvailabilityIndex.release(expiry.itemId(), expiry.bookingId());
+        }
+        return canceled;
+    }
+}
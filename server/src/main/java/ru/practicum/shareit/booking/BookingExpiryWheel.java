@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+final class BookingExpiryWheel {
+    private final long tickMillis;
+    private final List<Map<Integer, Expiry>> slots;
+    private final Map<Integer, Expiry> byBooking = new HashMap<>();
+    private long cursor;
+
+    BookingExpiryWheel(Duration tick, int size, LocalDateTime now) {
+        this.tickMillis = tick.toMillis();
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new HashMap<>());
+        }
+        this.cursor = Math.floorDiv(millis(now), tickMillis);
+    }
+
+    // Срок округляется вверх до тика, чтобы бронирование не истекло раньше даты начала.
+    // Просроченные к моменту добавления бронирования попадают в ближайший тик
+    synchronized void schedule(int bookingId, int itemId, LocalDateTime deadline) {
+        cancel(bookingId);
+        long tick = Math.max(Math.ceilDiv(millis(deadline), tickMillis), cursor + 1);
+        Expiry expiry = new Expiry(bookingId, itemId, deadline, tick);
+        slot(tick).put(bookingId, expiry);
+        byBooking.put(bookingId, expiry);
+    }
+
+    synchronized void cancel(int bookingId) {
+        Expiry expiry = byBooking.remove(bookingId);
+        if (expiry != null) {
+            slot(expiry.tick()).remove(bookingId);
+        }
+    }
+
+    // За один вызов колесо проходит не больше одного оборота: записи из следующих оборотов
+    // лежат в тех же ячейках и остаются там, пока не наступит их тик
+    synchronized List<Expiry> advance(LocalDateTime now) {
+        long target = Math.floorDiv(millis(now), tickMillis);
+        List<Expiry> due = new ArrayList<>();
+        for (long tick = cursor + 1; tick <= Math.min(target, cursor + slots.size()); tick++) {
+            Iterator<Expiry> iterator = slot(tick).values().iterator();
+            while (iterator.hasNext()) {
+                Expiry expiry = iterator.next();
+                if (expiry.tick() <= target) {
+                    iterator.remove();
+                    byBooking.remove(expiry.bookingId());
+                    due.add(expiry);
+                }
+            }
+        }
+        cursor = Math.max(cursor, target);
+        return due;
+    }
+
+    synchronized int size() {
+        return byBooking.size();
+    }
+
+    private Map<Integer, Expiry> slot(long tick) {
+        return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    record Expiry(int bookingId, int itemId, LocalDateTime deadline, long tick) {
+    }
+}
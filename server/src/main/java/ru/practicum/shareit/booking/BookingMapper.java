@@ -3,7 +3,11 @@ package ru.practicum.shareit.booking;
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.extra.BookingStatusEnum;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemShortDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.UserShortDto;
 
 import java.util.Collection;
 import java.util.List;
@@ -20,8 +24,22 @@ public class BookingMapper {
                 booking.getId(),
                 booking.getStart(),
                 booking.getEnd(),
-                booking.getItem(),
-                booking.getBooker(),
+                ItemMapper.toItemShortDto(booking.getItem()),
+                UserMapper.toUserShortDto(booking.getBooker()),
+                booking.getStatus()
+        );
+    }
+
+    public static BookingDto toBookingDto(NearestBooking booking) {
+        if (booking == null) {
+            return null;
+        }
+        return new BookingDto(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                new ItemShortDto(booking.getItemId(), booking.getItemName(), booking.getOwnerId()),
+                new UserShortDto(booking.getBookerId(), booking.getBookerName()),
                 booking.getStatus()
         );
     }
@@ -2,10 +2,19 @@ package ru.practicum.shareit.booking;
 
 import jakarta.validation.ValidationException;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
 import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.extra.BookingStatusEnum;
 import ru.practicum.shareit.extra.State;
@@ -15,18 +24,30 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 @Transactional
 public class BookingServiceImpl implements BookingService {
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "start", "id");
+    private static final int MAX_DECISION_ATTEMPTS = 3;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemBookingLocks itemBookingLocks;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final BookingExpiry bookingExpiry;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public Booking createBooking(int userId, BookingDtoRequest bookingDtoRequest) {
@@ -51,26 +72,107 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Дата окончания бронирования раньше даты начала бронирования");
         }
 
+        itemBookingLocks.lockUntilCompletion(itemId);
+        if (bookingRepository.existsOverlapping(itemId, bookingDtoRequest.getStart(), bookingDtoRequest.getEnd(), ItemAvailabilityIndex.OCCUPYING)) {
+            throw new ConflictException("Item с id - " + itemId + " уже забронирован на эти даты");
+        }
+
         Booking booking = BookingMapper.toBookingWithBookerAndItem(bookingDtoRequest, booker, item);
-        return bookingRepository.save(booking);
+        try {
+            booking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Item с id - " + itemId + " уже забронирован на эти даты");
+        }
+        itemAvailabilityIndex.update(booking);
+        bookingExpiry.track(booking);
+        return booking;
     }
 
+    // Решение применяется только к WAITING: версия в UPDATE отсекает параллельное изменение,
+    // после которого решение перечитывается в новой транзакции
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Booking approvedBooking(int userId, int bookingId, Boolean approved) {
+        for (int attempt = 1; ; attempt++) {
+            boolean retry = attempt > 1;
+            try {
+                return transactionTemplate.execute(status -> decide(userId, bookingId, approved, retry));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_DECISION_ATTEMPTS) {
+                    throw new ConflictException("Бронирование с id - " + bookingId + " изменено параллельным запросом");
+                }
+            }
+        }
+    }
+
+    private Booking decide(int userId, int bookingId, Boolean approved, boolean retry) {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new NotFoundException("Бронирование с id -" + bookingId + " не найдено"));
-        Item item = itemRepository.findById(booking.getItem().getId()).orElseThrow(() -> new NotFoundException("Не найден предмет с id - " + booking.getItem().getId()));
+        Item item = booking.getItem();
 
         if (item.getUser().getId() != userId) {
             throw new ValidationException("У " + item.getUser().getName() + " не найден предмет - " + item.getName());
         }
 
-        if (booking.getStatus().equals(BookingStatusEnum.APPROVED)) {
-            throw new ValidationException("Предмет уже находится в статусе APPROVED");
+        if (booking.getStatus() != BookingStatusEnum.WAITING) {
+            if (retry) {
+                throw new ConflictException("Бронирование с id - " + bookingId + " уже переведено параллельным запросом в статус "
+                        + booking.getStatus());
+            }
+            throw new ValidationException("Предмет уже находится в статусе " + booking.getStatus());
         }
 
         booking.setStatus(approved ? BookingStatusEnum.APPROVED : BookingStatusEnum.REJECTED);
+        booking = bookingRepository.saveAndFlush(booking);
+        itemAvailabilityIndex.update(booking);
+        bookingExpiry.track(booking);
 
-        return bookingRepository.save(booking);
+        return booking;
+    }
+
+    @Override
+    public List<BookingDecisionResultDto> approvedBookings(int userId, List<BookingDecisionDto> decisions) {
+        Set<Integer> bookingIds = decisions.stream()
+                .map(BookingDecisionDto::getBookingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Booking> bookings = bookingRepository.findAllByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Set<Integer> decided = new HashSet<>();
+        List<BookingDecisionResultDto> results = new ArrayList<>(decisions.size());
+        for (BookingDecisionDto decision : decisions) {
+            Integer bookingId = decision.getBookingId();
+            Booking booking = bookings.get(bookingId);
+            BookingDecisionResultDto.BookingDecisionResultDtoBuilder result = BookingDecisionResultDto.builder()
+                    .bookingId(bookingId);
+
+            if (bookingId == null) {
+                result.error("Не указан id бронирования");
+            } else if (decision.getApproved() == null) {
+                result.error("Не указано решение по бронированию с id - " + bookingId);
+            } else if (!decided.add(bookingId)) {
+                result.error("Бронирование с id - " + bookingId + " указано повторно");
+            } else if (booking == null) {
+                result.error("Бронирование с id -" + bookingId + " не найдено");
+            } else if (booking.getItem().getUser().getId() != userId) {
+                result.error("У пользователя с id - " + userId + " не найден предмет - " + booking.getItem().getName());
+            } else if (booking.getStatus() != BookingStatusEnum.WAITING) {
+                result.status(booking.getStatus()).error("Предмет уже находится в статусе " + booking.getStatus());
+            } else {
+                booking.setStatus(decision.getApproved() ? BookingStatusEnum.APPROVED : BookingStatusEnum.REJECTED);
+                itemAvailabilityIndex.update(booking);
+                bookingExpiry.track(booking);
+                result.status(booking.getStatus());
+            }
+            results.add(result.build());
+        }
+
+        try {
+            bookingRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflictException("Бронирования изменены параллельным запросом, повторите решение");
+        }
+        return results;
     }
 
     @Override
@@ -91,69 +193,72 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<Booking> getBookingsByBooker(int userId, State state) {
-        List<Booking> bookings;
+    public Collection<Booking> getBookingsByBooker(int userId, State state, ScrollPosition position, int size) {
+        Limit limit = Limit.of(size);
+        LocalDateTime now = LocalDateTime.now();
+        Window<Booking> bookings;
 
         switch (state) {
             case ALL -> {
-                bookings = bookingRepository.findAllBookingsByBookerIdOrderByStartDesc(userId);
+                bookings = bookingRepository.findAllBookingsByBookerId(userId, position, limit, NEWEST_FIRST);
             }
             case CURRENT -> {
-                bookings = bookingRepository.findAllCurrentBookingsByBookerId(userId, LocalDateTime.now());
+                bookings = bookingRepository.findAllBookingsByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(userId, now, now, position, limit, NEWEST_FIRST);
             }
             case PAST -> {
-                bookings = bookingRepository.findAllBookingsByBookerIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now());
+                bookings = bookingRepository.findAllBookingsByBookerIdAndEndBefore(userId, now, position, limit, NEWEST_FIRST);
             }
             case FUTURE -> {
-                bookings = bookingRepository.findAllBookingsByBookerIdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now());
+                bookings = bookingRepository.findAllBookingsByBookerIdAndStartAfter(userId, now, position, limit, NEWEST_FIRST);
             }
             case WAITING -> {
-                bookings = bookingRepository.findAllBookingsByBookerIdAndStatusOrderByStartDesc(userId, BookingStatusEnum.WAITING);
+                bookings = bookingRepository.findAllBookingsByBookerIdAndStatus(userId, BookingStatusEnum.WAITING, position, limit, NEWEST_FIRST);
             }
             case REJECTED -> {
-                bookings = bookingRepository.findAllBookingsByBookerIdAndStatusOrderByStartDesc(userId, BookingStatusEnum.REJECTED);
+                bookings = bookingRepository.findAllBookingsByBookerIdAndStatus(userId, BookingStatusEnum.REJECTED, position, limit, NEWEST_FIRST);
             }
             default -> {
                 throw new NotFoundException("Не найден State - " + state);
             }
         }
 
-        return bookings;
+        return bookings.getContent();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<Booking> getBookingsByOwner(int userId, State state) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Не найден пользователь с id - " + userId));
-        Set<Integer> itemIds = itemRepository.findAllItemsByUserOrderByIdAsc(user).stream()
-                .map(Item::getId)
-                .collect(Collectors.toSet());
-        List<Booking> bookings;
+    public Collection<Booking> getBookingsByOwner(int userId, State state, ScrollPosition position, int size) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Не найден пользователь с id - " + userId);
+        }
+        Limit limit = Limit.of(size);
+        LocalDateTime now = LocalDateTime.now();
+        Window<Booking> bookings;
 
         switch (state) {
             case ALL -> {
-                bookings = bookingRepository.findAllBookingsByItemIdInOrderByStartDesc(itemIds);
+                bookings = bookingRepository.findAllBookingsByItemUserId(userId, position, limit, NEWEST_FIRST);
             }
             case CURRENT -> {
-                bookings = bookingRepository.findAllCurrentBookingsByOwnerId(userId, LocalDateTime.now());
+                bookings = bookingRepository.findAllBookingsByItemUserIdAndStartLessThanEqualAndEndGreaterThanEqual(userId, now, now, position, limit, NEWEST_FIRST);
             }
             case PAST -> {
-                bookings = bookingRepository.findAllBookingsByItemUserIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now());
+                bookings = bookingRepository.findAllBookingsByItemUserIdAndEndBefore(userId, now, position, limit, NEWEST_FIRST);
             }
             case FUTURE -> {
-                bookings = bookingRepository.findAllBookingsByItemUserIdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now());
+                bookings = bookingRepository.findAllBookingsByItemUserIdAndStartAfter(userId, now, position, limit, NEWEST_FIRST);
             }
             case WAITING -> {
-                bookings = bookingRepository.findAllBookingsByItemUserIdAndStatusOrderByStartDesc(userId, BookingStatusEnum.WAITING);
+                bookings = bookingRepository.findAllBookingsByItemUserIdAndStatus(userId, BookingStatusEnum.WAITING, position, limit, NEWEST_FIRST);
             }
             case REJECTED -> {
-                bookings = bookingRepository.findAllBookingsByItemUserIdAndStatusOrderByStartDesc(userId, BookingStatusEnum.REJECTED);
+                bookings = bookingRepository.findAllBookingsByItemUserIdAndStatus(userId, BookingStatusEnum.REJECTED, position, limit, NEWEST_FIRST);
             }
             default -> {
                 throw new NotFoundException("Не найден State - " + state);
             }
         }
 
-        return bookings;
+        return bookings.getContent();
     }
 }
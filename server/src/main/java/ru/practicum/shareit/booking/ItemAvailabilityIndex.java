@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.extra.AfterCommit;
+import ru.practicum.shareit.extra.BookingStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class ItemAvailabilityIndex {
+    static final Set<BookingStatusEnum> OCCUPYING = EnumSet.of(BookingStatusEnum.WAITING, BookingStatusEnum.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Integer, ItemCalendar> calendars = new ConcurrentHashMap<>();
+
+    public List<BookingPeriod> busy(int itemId, LocalDateTime from, LocalDateTime to) {
+        return calendars.computeIfAbsent(itemId, this::load).busy(from, to);
+    }
+
+    // Календарь меняется только после коммита, иначе откат транзакции оставит в нём занятый слот.
+    // Календари, которые ещё не загружены, не трогаем: они прочитают состояние из базы при первом запросе
+    public void update(Booking booking) {
+        int bookingId = booking.getId();
+        int itemId = booking.getItem().getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        boolean occupying = OCCUPYING.contains(booking.getStatus());
+
+        AfterCommit.run(() -> calendars.computeIfPresent(itemId, (id, calendar) -> {
+            if (occupying) {
+                calendar.put(bookingId, start, end);
+            } else {
+                calendar.remove(bookingId);
+            }
+            return calendar;
+        }));
+    }
+
+    public void release(int itemId, int bookingId) {
+        AfterCommit.run(() -> calendars.computeIfPresent(itemId, (id, calendar) -> {
+            calendar.remove(bookingId);
+            return calendar;
+        }));
+    }
+
+    // Бронирования пользователя и бронирования его предметов удаляет каскад в базе. Затронутые предметы
+    // собираются до удаления, а их календари сбрасываются после коммита и перечитываются при следующем запросе
+    public void releaseUser(int userId) {
+        Set<Integer> itemIds = bookingRepository.findItemIdsByBookerIdOrOwnerId(userId);
+        if (!itemIds.isEmpty()) {
+            AfterCommit.run(() -> calendars.keySet().removeAll(itemIds));
+        }
+    }
+
+    private ItemCalendar load(int itemId) {
+        ItemCalendar calendar = new ItemCalendar();
+        for (Booking booking : bookingRepository.findAllByItemIdAndStatusIn(itemId, OCCUPYING)) {
+            calendar.put(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+        return calendar;
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+final class ItemCalendar {
+    private static final Comparator<Slot> BY_START = Comparator.comparing(Slot::start).thenComparingInt(Slot::bookingId);
+
+    // Новые бронирования не пересекаются с занятыми (см. BookingServiceImpl), поэтому в slots периоды не пересекаются
+    // и упорядочены и по началу, и по концу. Пересекающиеся слоты из старых данных лежат отдельно в overlapping
+    private final NavigableSet<Slot> slots = new TreeSet<>(BY_START);
+    private final NavigableSet<Slot> overlapping = new TreeSet<>(BY_START);
+    private final Map<Integer, Slot> byBooking = new HashMap<>();
+    private Duration longestOverlapping = Duration.ZERO;
+
+    synchronized void put(int bookingId, LocalDateTime start, LocalDateTime end) {
+        remove(bookingId);
+        Slot slot = new Slot(bookingId, start, end);
+        byBooking.put(bookingId, slot);
+        if (!intersects(slot)) {
+            slots.add(slot);
+            return;
+        }
+        overlapping.add(slot);
+        Duration duration = Duration.between(start, end);
+        if (duration.compareTo(longestOverlapping) > 0) {
+            longestOverlapping = duration;
+        }
+    }
+
+    synchronized void remove(int bookingId) {
+        Slot slot = byBooking.remove(bookingId);
+        if (slot == null || slots.remove(slot)) {
+            return;
+        }
+        overlapping.remove(slot);
+        longestOverlapping = overlapping.stream()
+                .map(other -> Duration.between(other.start(), other.end()))
+                .max(Comparator.naturalOrder())
+                .orElse(Duration.ZERO);
+    }
+
+    // Из непересекающихся слотов период может задеть только последний начавшийся не позже from
+    // и начавшиеся внутри [from, to): O(log n + k). Старые пересекающиеся слоты просматриваются в окне
+    // [from - longestOverlapping, to)
+    synchronized List<BookingPeriod> busy(LocalDateTime from, LocalDateTime to) {
+        Slot lower = new Slot(Integer.MAX_VALUE, from, null);
+        Slot upper = new Slot(Integer.MIN_VALUE, to, null);
+
+        List<Slot> candidates = new ArrayList<>();
+        Slot before = slots.floor(lower);
+        if (before != null) {
+            candidates.add(before);
+        }
+        candidates.addAll(slots.subSet(lower, false, upper, false));
+        if (!overlapping.isEmpty()) {
+            Slot window = new Slot(Integer.MIN_VALUE, from.minus(longestOverlapping), null);
+            candidates.addAll(overlapping.subSet(window, true, upper, false));
+            candidates.sort(BY_START);
+        }
+
+        List<BookingPeriod> busy = new ArrayList<>();
+        for (Slot slot : candidates) {
+            if (!slot.end().isAfter(from)) {
+                continue;
+            }
+            LocalDateTime start = slot.start().isBefore(from) ? from : slot.start();
+            LocalDateTime end = slot.end().isAfter(to) ? to : slot.end();
+            BookingPeriod last = busy.isEmpty() ? null : busy.getLast();
+            if (last != null && !start.isAfter(last.getEnd())) {
+                if (end.isAfter(last.getEnd())) {
+                    last.setEnd(end);
+                }
+            } else {
+                busy.add(new BookingPeriod(start, end));
+            }
+        }
+        return busy;
+    }
+
+    private boolean intersects(Slot slot) {
+        Slot before = slots.lower(slot);
+        Slot after = slots.higher(slot);
+        return before != null && before.end().isAfter(slot.start())
+                || after != null && after.start().isBefore(slot.end());
+    }
+
+    private record Slot(int bookingId, LocalDateTime start, LocalDateTime end) {
+    }
+}
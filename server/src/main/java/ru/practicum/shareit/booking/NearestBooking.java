@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.extra.BookingStatusEnum;
+
+import java.time.LocalDateTime;
+
+public interface NearestBooking {
+    Integer getId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    BookingStatusEnum getStatus();
+
+    Integer getItemId();
+
+    String getItemName();
+
+    Integer getOwnerId();
+
+    Integer getBookerId();
+
+    String getBookerName();
+
+    Boolean getUpcoming();
+}
@@ -1,47 +1,130 @@
 package ru.practicum.shareit.booking.interfaces;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.NearestBooking;
 import ru.practicum.shareit.extra.BookingStatusEnum;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface BookingRepository extends JpaRepository<Booking, Integer> {
+    @Override
+    @EntityGraph("Booking.details")
+    Optional<Booking> findById(Integer id);
 
-    //Бронирования пользователей:
-    List<Booking> findAllBookingsByBookerIdOrderByStartDesc(int bookerId);  // State - ALL
+    @EntityGraph("Booking.details")
+    List<Booking> findAllByIdIn(Collection<Integer> ids);
 
     @Query("""
-            SELECT b from Booking AS b
-            WHERE b.booker.id = :bookerId
-            AND b.start <= :time
-            AND b.end >= :time
+            SELECT COUNT(b) > 0
+            FROM Booking AS b
+            WHERE b.item.id = :itemId
+            AND b.status IN :statuses
+            AND b.start < :end
+            AND b.end > :start
             """)
-    List<Booking> findAllCurrentBookingsByBookerId(int bookerId, LocalDateTime time); // State - CURRENT
+    boolean existsOverlapping(int itemId, LocalDateTime start, LocalDateTime end, Collection<BookingStatusEnum> statuses);
 
-    List<Booking> findAllBookingsByBookerIdAndEndBeforeOrderByStartDesc(int bookerId, LocalDateTime time); // State - PAST
+    List<Booking> findAllByItemIdAndStatusIn(int itemId, Collection<BookingStatusEnum> statuses);
 
-    List<Booking> findAllBookingsByBookerIdAndStartAfterOrderByStartDesc(int bookerId, LocalDateTime time); // State - FUTURE
+    @Query("""
+            SELECT DISTINCT b.item.id
+            FROM Booking AS b
+            WHERE b.booker.id = :userId
+            OR b.item.user.id = :userId
+            """)
+    Set<Integer> findItemIdsByBookerIdOrOwnerId(int userId);
 
-    List<Booking> findAllBookingsByBookerIdAndStatusOrderByStartDesc(int bookerId, BookingStatusEnum status); // State - WAITING, REJECTED
+    List<Booking> findAllByStatus(BookingStatusEnum status);
 
-    //Бронирования владельца:
-    List<Booking> findAllBookingsByItemIdInOrderByStartDesc(Set<Integer> itemIds); // State - ALL
+    // Версия увеличивается вручную: массовый UPDATE её не трогает, а решение владельца должно увидеть конфликт
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Booking AS b
+            SET b.status = :status, b.version = b.version + 1
+            WHERE b.id IN :ids
+            AND b.status = :expected
+            """)
+    int updateStatusByIdInAndStatus(Collection<Integer> ids, BookingStatusEnum expected, BookingStatusEnum status);
 
     @Query("""
-            SELECT b from Booking AS b
-            WHERE b.item.user.id = :ownerId
-            AND b.start <= :time
-            AND b.end >= :time
+            SELECT b.id
+            FROM Booking AS b
+            WHERE b.id IN :ids
+            AND b.status = :status
             """)
-    List<Booking> findAllCurrentBookingsByOwnerId(int ownerId, LocalDateTime time); // State - CURRENT
+    List<Integer> findIdsByIdInAndStatus(Collection<Integer> ids, BookingStatusEnum status);
+
+    //Бронирования пользователей:
+    @EntityGraph("Booking.details")
+    Window<Booking> findAllBookingsByBookerId(int bookerId, ScrollPosition position, Limit limit, Sort sort); // State - ALL
+
+    @EntityGraph("Booking.details")
+    Window<Booking> findAllBookingsByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(int bookerId, LocalDateTime start, LocalDateTime end,
+                                                                                         ScrollPosition position, Limit limit, Sort sort); // State - CURRENT
+
+    @EntityGraph("Booking.details")
+    Window<Booking> findAllBookingsByBookerIdAndEndBefore(int bookerId, LocalDateTime time,
+                                                          ScrollPosition position, Limit limit, Sort sort); // State - PAST
+
+    @EntityGraph("Booking.details")
+    Window<Booking> findAllBookingsByBookerIdAndStartAfter(int bookerId, LocalDateTime time,
+                                                           ScrollPosition position, Limit limit, Sort sort); // State - FUTURE
+
+    @EntityGraph("Booking.details")
+    Window<Booking> findAllBookingsByBookerIdAndStatus(int bookerId, BookingStatusEnum status,
+                                                       ScrollPosition position, Limit limit, Sort sort); // State - WAITING, REJECTED
+
+    //Бронирования владельца:
+    @EntityGraph("Booking.details")
+    Window<Booking> findAllBookingsByItemUserId(int ownerId, ScrollPosition position, Limit limit, Sort sort); // State - ALL
+
+    @EntityGraph("Booking.details")
+    Window<Booking> findAllBookingsByItemUserIdAndStartLessThanEqualAndEndGreaterThanEqual(int ownerId, LocalDateTime start, LocalDateTime end,
+                                                                                           ScrollPosition position, Limit limit, Sort sort); // State - CURRENT
+
+    @EntityGraph("Booking.details")
+    Window<Booking> findAllBookingsByItemUserIdAndEndBefore(int ownerId, LocalDateTime time,
+                                                            ScrollPosition position, Limit limit, Sort sort); // State - PAST
+
+    @EntityGraph("Booking.details")
+    Window<Booking> findAllBookingsByItemUserIdAndStartAfter(int ownerId, LocalDateTime time,
+                                                             ScrollPosition position, Limit limit, Sort sort); // State - FUTURE
 
-    List<Booking> findAllBookingsByItemUserIdAndEndBeforeOrderByStartDesc(int ownerId, LocalDateTime time); // State - PAST
+    @EntityGraph("Booking.details")
+    Window<Booking> findAllBookingsByItemUserIdAndStatus(int ownerId, BookingStatusEnum status,
+                                                         ScrollPosition position, Limit limit, Sort sort); // State - WAITING, REJECTED
 
-    List<Booking> findAllBookingsByItemUserIdAndStartAfterOrderByStartDesc(int ownerId, LocalDateTime time); // State - FUTURE
+    //Бронирования предметов:
+    @EntityGraph("Booking.details")
+    List<Booking> findAllBookingsByItemIdInOrderByStartDesc(Set<Integer> itemIds);
 
-    List<Booking> findAllBookingsByItemUserIdAndStatusOrderByStartDesc(int ownerId, BookingStatusEnum status); // State - WAITING, REJECTED
+    @Query(value = """
+            SELECT r.id AS "id", r.start_date AS "start", r.end_date AS "end", r.status AS "status",
+                   i.id AS "itemId", i.name AS "itemName", i.owner_id AS "ownerId",
+                   u.id AS "bookerId", u.name AS "bookerName", r.upcoming AS "upcoming"
+            FROM (SELECT b.*,
+                         b.start_date > :time AS upcoming,
+                         ROW_NUMBER() OVER (PARTITION BY b.item_id, b.start_date > :time
+                                            ORDER BY CASE WHEN b.start_date > :time THEN b.start_date END,
+                                                     b.start_date DESC, b.id DESC) AS rn
+                  FROM bookings AS b
+                  WHERE b.item_id IN (:itemIds)
+                  AND (b.start_date > :time OR b.end_date < :time)) AS r
+            JOIN items AS i ON i.id = r.item_id
+            JOIN users AS u ON u.id = r.booker_id
+            WHERE r.rn = 1
+            """, nativeQuery = true)
+    List<NearestBooking> findNearestBookings(Collection<Integer> itemIds, LocalDateTime time); // nextBooking и lastBooking
 }
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.booking.interfaces;
 
+import org.springframework.data.domain.ScrollPosition;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingDecisionDto;
+import ru.practicum.shareit.booking.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.BookingDtoRequest;
 import ru.practicum.shareit.extra.State;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
 
@@ -12,9 +16,11 @@ public interface BookingService {
 
     Booking approvedBooking(int userId, int bookingId, Boolean approved);
 
+    List<BookingDecisionResultDto> approvedBookings(int userId, List<BookingDecisionDto> decisions);
+
     Booking getBookingById(int userId, int bookingId);
 
-    Collection<Booking> getBookingsByBooker(int userId, State state);
+    Collection<Booking> getBookingsByBooker(int userId, State state, ScrollPosition position, int size);
 
-    Collection<Booking> getBookingsByOwner(int userId, State state);
-}
\ No newline at end of file
+    Collection<Booking> getBookingsByOwner(int userId, State state, ScrollPosition position, int size);
+}
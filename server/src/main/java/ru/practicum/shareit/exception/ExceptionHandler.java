@@ -15,4 +15,11 @@ public class ExceptionHandler {
         log.error("Произошла ошибка - " + e.getMessage());
         return new ErrorResponse("Объект не найден", e.getMessage());
     }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflictException(final ConflictException e) {
+        log.error("Произошла ошибка - " + e.getMessage());
+        return new ErrorResponse("Конфликт данных", e.getMessage());
+    }
 }
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.interfaces.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @RestController
@@ -21,13 +23,32 @@ public class ItemController {
     }
 
     @GetMapping
-    public Collection<ItemDtoResponse> getByOwner(@RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public Collection<ItemDto> getByOwner(@RequestHeader("X-Sharer-User-Id") Integer userId) {
         return itemService.getByOwner(userId);
     }
 
     @GetMapping("/search")
-    public Collection<ItemDtoResponse> search(@RequestParam(name = "text") String text) {
-        return itemService.search(text);
+    public Collection<ItemDtoResponse> search(@RequestParam(name = "text") String text,
+                                              @RequestParam(defaultValue = "0") int from,
+                                              @RequestParam(defaultValue = "10") int size,
+                                              @RequestParam(defaultValue = "false") boolean fuzzy) {
+        if (fuzzy) {
+            return itemService.fuzzySearch(text, from, size);
+        }
+        return itemService.search(text, from, size);
+    }
+
+    @GetMapping("/autocomplete")
+    public Collection<ItemShortDto> autocomplete(@RequestParam(name = "prefix") String prefix,
+                                                 @RequestParam(defaultValue = "10") int limit) {
+        return itemService.autocomplete(prefix, limit);
+    }
+
+    @GetMapping("/{id}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable(name = "id") Integer id,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(id, from, to);
     }
 
     @PostMapping
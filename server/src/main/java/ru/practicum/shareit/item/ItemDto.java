@@ -2,7 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.*;
 import ru.practicum.shareit.booking.BookingDto;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserShortDto;
 
 import java.util.List;
 
@@ -20,5 +20,5 @@ public class ItemDto {
     private List<CommentDtoResponse> comments;
     private BookingDto nextBooking;
     private BookingDto lastBooking;
-    private User owner;
+    private UserShortDto owner;
 }
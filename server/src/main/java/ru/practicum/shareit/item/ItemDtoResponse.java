@@ -1,7 +1,7 @@
 package ru.practicum.shareit.item;
 
 import lombok.*;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserShortDto;
 
 @Getter
 @Setter
@@ -14,6 +14,6 @@ public class ItemDtoResponse {
     private String name;
     private String description;
     private Boolean available;
-    private User owner;
+    private UserShortDto owner;
     private Integer requestId;
 }
\ No newline at end of file
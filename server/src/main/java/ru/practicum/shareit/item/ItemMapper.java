@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.BookingDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapper;
 
 import java.util.List;
 
@@ -24,7 +25,7 @@ public class ItemMapper {
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
-                .owner(item.getUser())
+                .owner(UserMapper.toUserShortDto(item.getUser()))
                 .available(item.getAvailable())
                 .requestId(item.getRequest().getId())
                 .build();
@@ -35,11 +36,22 @@ public class ItemMapper {
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
-                .owner(item.getUser())
+                .owner(UserMapper.toUserShortDto(item.getUser()))
                 .available(item.getAvailable())
                 .build();
     }
 
+    public ItemShortDto toItemShortDto(Item item) {
+        if (item == null) {
+            return null;
+        }
+        return new ItemShortDto(
+                item.getId(),
+                item.getName(),
+                item.getUser() != null ? item.getUser().getId() : null
+        );
+    }
+
     public ItemDto toItemDto(int userId, ItemDtoResponse item, List<CommentDtoResponse> comments,
                              BookingDto nextBooking, BookingDto lastBooking) {
         ItemDto itemDto = ItemDto.builder()
@@ -3,25 +3,39 @@ package ru.practicum.shareit.item;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingDto;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingPeriod;
+import ru.practicum.shareit.booking.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.NearestBooking;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.interfaces.CommentRepository;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,6 +48,8 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
 
     @Override
     @Transactional
@@ -49,36 +65,41 @@ public class ItemServiceImpl implements ItemService {
 
             item.setRequest(itemRequest);
             itemRepository.save(item);
+            itemSearchIndex.index(item);
 
             return ItemMapper.toItemDtoWithRequest(item);
         }
 
-        return ItemMapper.itemToDtoResponse(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+
+        return ItemMapper.itemToDtoResponse(savedItem);
     }
 
     @Override
+    @Transactional
     public ItemDtoResponse update(Integer itemId, ItemDtoRequest itemDtoRequest, Integer userId) {
-        if (userRepository.findById(userId).isEmpty()) {
-            throw new NotFoundException("Не найден пользователь с id - " + userId);
-        } else if (itemRepository.findById(itemId).isEmpty()) {
-            throw new NotFoundException("Не найден item с id - " + itemId);
-        }
-
-        Item oldItem = itemRepository.findById(itemId).get();
+        userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Не найден пользователь с id - " + userId));
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Не найден item с id - " + itemId));
 
-        if (!oldItem.getUser().getId().equals(userId)) {
+        if (!item.getUser().getId().equals(userId)) {
             throw new ValidationException("Item с id - " + itemId + " не принаджелит пользователю - " + userId);
         }
-        if (itemDtoRequest.getName() == null || itemDtoRequest.getName().isEmpty()) {
-            itemDtoRequest.setName(oldItem.getName());
+        // Пользователь и предмет приходят из кэша второго уровня, после коммита запись в регионе items заменяется, а не вытесняется
+        if (itemDtoRequest.getName() != null && !itemDtoRequest.getName().isBlank()) {
+            item.setName(itemDtoRequest.getName());
         }
-        if (itemDtoRequest.getDescription() == null || itemDtoRequest.getDescription().isEmpty()) {
-            itemDtoRequest.setDescription(oldItem.getDescription());
+        if (itemDtoRequest.getDescription() != null && !itemDtoRequest.getDescription().isBlank()) {
+            item.setDescription(itemDtoRequest.getDescription());
         }
+        if (itemDtoRequest.getAvailable() != null) {
+            item.setAvailable(itemDtoRequest.getAvailable());
+        }
+        itemSearchIndex.index(item);
 
-        Item updatedItem = itemRepository.save(ItemMapper.dtoToItem(itemDtoRequest, userRepository.findById(userId).get(), itemId));
-
-        return ItemMapper.itemToDtoResponse(updatedItem);
+        return ItemMapper.itemToDtoResponse(item);
     }
 
     @Override
@@ -86,37 +107,134 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Не найден item с id - " + itemId));
         ItemDtoResponse itemDtoResponse = ItemMapper.itemToDtoResponse(item);
 
-        List<CommentDtoResponse> commentDtoResponseList = commentRepository.getAllCommentsByItemId(itemId).stream()
-                .map(CommentMapper::commentToDtoResponse)
-                .toList();
+        List<CommentDtoResponse> commentDtoResponseList = commentRepository.getAllCommentsByItemId(itemId);
+
+        if (!item.getUser().getId().equals(userId)) {
+            return ItemMapper.toItemDto(userId, itemDtoResponse, commentDtoResponseList, null, null);
+        }
 
-        Booking nextBooking = getNextBooking(userId);
-        Booking lastBooking = getLastBooking(userId);
+        NearestBookings nearestBookings = getNearestBookings(Set.of(itemId)).getOrDefault(itemId, NearestBookings.EMPTY);
 
         return ItemMapper.toItemDto(userId, itemDtoResponse, commentDtoResponseList,
-                BookingMapper.toBookingDto(nextBooking),
-                BookingMapper.toBookingDto(lastBooking));
+                nearestBookings.next(), nearestBookings.last());
     }
 
     @Override
-    public Collection<ItemDtoResponse> getByOwner(Integer userId) {
-        List<Item> items = itemRepository.findAllItemsByUserOrderByIdAsc(userRepository.findById(userId).orElseThrow());
+    public Collection<ItemDto> getByOwner(Integer userId) {
+        List<Item> items = itemRepository.findAllItemsByUserOrderByIdAsc(userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Не найден пользователь с id - " + userId)));
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Integer> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        Map<Integer, NearestBookings> nearestBookings = getNearestBookings(itemIds);
+        Map<Integer, List<CommentDtoResponse>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::commentToDtoResponse, Collectors.toList())));
 
         return items.stream()
-                .map(ItemMapper::itemToDtoResponse)
+                .map(item -> {
+                    NearestBookings itemBookings = nearestBookings.getOrDefault(item.getId(), NearestBookings.EMPTY);
+                    return ItemMapper.toItemDto(userId, ItemMapper.itemToDtoResponse(item),
+                            comments.getOrDefault(item.getId(), List.of()),
+                            itemBookings.next(), itemBookings.last());
+                })
                 .collect(Collectors.toList());
     }
 
     @Override
-    public Collection<ItemDtoResponse> search(String text) {
-        if (text == null || text.isEmpty()) {
+    public Collection<ItemDtoResponse> search(String text, int from, int size) {
+        if (text == null || text.isBlank()) {
             return List.of();
         }
-        return itemRepository.search(text).stream()
+
+        Optional<int[]> candidates = itemSearchIndex.search(text);
+        if (candidates.isEmpty()) {
+            return itemRepository.search(text, from, size).stream()
+                    .map(ItemMapper::itemToDtoResponse)
+                    .collect(Collectors.toList());
+        }
+
+        return loadPage(candidates.get(), from, size);
+    }
+
+    @Override
+    public Collection<ItemDtoResponse> fuzzySearch(String text, int from, int size) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        Optional<int[]> candidates = itemSearchIndex.fuzzySearch(text);
+        if (candidates.isEmpty()) {
+            return search(text, from, size);
+        }
+
+        return loadPage(candidates.get(), from, size);
+    }
+
+    // Индекс возвращает уже проверенные id в порядке выдачи, из базы читается только нужная страница
+    private List<ItemDtoResponse> loadPage(int[] itemIds, int from, int size) {
+        if (from >= itemIds.length) {
+            return List.of();
+        }
+        List<Integer> pageIds = Arrays.stream(itemIds, from, Math.min(itemIds.length, from + size)).boxed().toList();
+        Map<Integer, Item> items = itemRepository.findAllByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return pageIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .map(ItemMapper::itemToDtoResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<ItemShortDto> autocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        return itemSearchIndex.autocomplete(prefix, limit)
+                .map(documents -> documents.stream()
+                        .map(document -> new ItemShortDto(document.getId(), document.getName(), document.getOwnerId()))
+                        .toList())
+                .orElseGet(() -> itemRepository.findByNamePrefix(escapeLike(prefix.toLowerCase(Locale.ROOT)), Limit.of(limit)));
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(Integer itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания");
+        }
+        if (itemRepository.findById(itemId).isEmpty()) {
+            throw new NotFoundException("Не найден item с id - " + itemId);
+        }
+
+        List<BookingPeriod> busy = itemAvailabilityIndex.busy(itemId, from, to);
+        List<BookingPeriod> free = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (BookingPeriod period : busy) {
+            if (period.getStart().isAfter(freeFrom)) {
+                free.add(new BookingPeriod(freeFrom, period.getStart()));
+            }
+            freeFrom = period.getEnd();
+        }
+        if (freeFrom.isBefore(to)) {
+            free.add(new BookingPeriod(freeFrom, to));
+        }
+
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy)
+                .free(free)
+                .build();
+    }
+
     @Override
     @Transactional
     public CommentDtoResponse addComment(int userId, int itemId, CommentDtoRequest commentDtoRequest) {
@@ -149,27 +267,26 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.commentToDtoResponse(commentRepository.save(comment));
     }
 
-    private Booking getNextBooking(int userId) {
-        List<Booking> bookings = bookingRepository
-                .findAllBookingsByItemUserIdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now());
-
-        Booking booking = new Booking();
+    // Символы шаблона LIKE в префиксе ищутся буквально, а не как подстановочные
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 
-        if (bookings != null && !bookings.isEmpty()) {
-            booking = bookings.getFirst();
+    private Map<Integer, NearestBookings> getNearestBookings(Set<Integer> itemIds) {
+        Map<Integer, NearestBookings> result = new HashMap<>();
+        for (NearestBooking booking : bookingRepository.findNearestBookings(itemIds, LocalDateTime.now())) {
+            NearestBookings current = result.getOrDefault(booking.getItemId(), NearestBookings.EMPTY);
+            BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+            result.put(booking.getItemId(), booking.getUpcoming()
+                    ? new NearestBookings(bookingDto, current.last())
+                    : new NearestBookings(current.next(), bookingDto));
         }
-        return booking;
+        return result;
     }
 
-    private Booking getLastBooking(int userId) {
-        List<Booking> bookings = bookingRepository
-                .findAllBookingsByItemUserIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now());
-
-        Booking booking = new Booking();
-
-        if (bookings != null && !bookings.isEmpty()) {
-            booking = bookings.getFirst();
-        }
-        return booking;
+    private record NearestBookings(BookingDto next, BookingDto last) {
+        private static final NearestBookings EMPTY = new NearestBookings(null, null);
     }
-}
\ No newline at end of file
+}
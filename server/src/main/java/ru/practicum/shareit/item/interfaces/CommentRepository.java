@@ -1,11 +1,23 @@
 package ru.practicum.shareit.item.interfaces;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.CommentDtoResponse;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
-    List<Comment> getAllCommentsByItemId(int itemId);
+    @Query("""
+            SELECT new ru.practicum.shareit.item.CommentDtoResponse(c.id, c.author.name, c.text, c.created)
+            FROM Comment AS c
+            WHERE c.item.id = :itemId
+            """)
+    List<CommentDtoResponse> getAllCommentsByItemId(int itemId);
+
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByItemIdIn(Collection<Integer> itemIds);
 }
\ No newline at end of file
@@ -1,22 +1,67 @@
 package ru.practicum.shareit.item.interfaces;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemShortDto;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
 import ru.practicum.shareit.user.User;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
+    @EntityGraph("Item.details")
     List<Item> findAllItemsByUserOrderByIdAsc(User user);
 
-    List<Item> findByRequestId(Integer id);
+    @EntityGraph("Item.details")
+    List<Item> findAllByIdIn(Collection<Integer> ids);
 
+    @Query("""
+            SELECT new ru.practicum.shareit.item.search.ItemSearchDocument(i.id, i.name, i.description, i.available, i.user.id)
+            FROM Item AS i
+            WHERE i.id > :afterId
+            ORDER BY i.id
+            """)
+    List<ItemSearchDocument> findSearchDocuments(int afterId, Limit limit);
+
+    @Query("""
+            SELECT i.id
+            FROM Item AS i
+            WHERE i.user.id = :userId
+            """)
+    List<Integer> findIdsByUserId(int userId);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.item.ItemShortDto(i.id, i.name, i.user.id)
+            FROM Item AS i
+            WHERE i.available = TRUE
+            AND LOWER(i.name) LIKE CONCAT(:prefix, '%') ESCAPE '\\'
+            ORDER BY LENGTH(i.name), i.name, i.id
+            """)
+    List<ItemShortDto> findByNamePrefix(String prefix, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT new ru.practicum.shareit.item.ItemShortDto(i.id, i.name, i.user.id)
+            FROM Item AS i
+            WHERE i.request.id = :requestId
+            """)
+    List<ItemShortDto> findByRequestId(Integer requestId);
+
+    @EntityGraph("Item.details")
     @Query("""
             SELECT i FROM Item AS i
             WHERE i.available IS TRUE
-            AND i.name ILIKE (CONCAT('%', :text, '%'))
-            OR i.description ILIKE (CONCAT('%', :text, '%'))
+            AND (i.name ILIKE CONCAT('%', :text, '%')
+            OR i.description ILIKE CONCAT('%', :text, '%'))
+            ORDER BY CASE WHEN i.name ILIKE CONCAT('%', :text, '%') THEN 0 ELSE 1 END, i.id
+            LIMIT :size OFFSET :from
             """)
-    List<Item> search(String text);
+    List<Item> search(String text, int from, int size);
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.interfaces;
 
 import ru.practicum.shareit.item.*;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemService {
@@ -11,9 +12,15 @@ public interface ItemService {
 
     ItemDto get(Integer itemId, Integer userId);
 
-    Collection<ItemDtoResponse> getByOwner(Integer userId);
+    Collection<ItemDto> getByOwner(Integer userId);
 
-    Collection<ItemDtoResponse> search(String text);
+    Collection<ItemDtoResponse> search(String text, int from, int size);
+
+    Collection<ItemDtoResponse> fuzzySearch(String text, int from, int size);
+
+    Collection<ItemShortDto> autocomplete(String prefix, int limit);
+
+    ItemAvailabilityDto getAvailability(Integer itemId, LocalDateTime from, LocalDateTime to);
 
     CommentDtoResponse addComment(int userId, int itemId, CommentDtoRequest commentDtoRequest);
 }
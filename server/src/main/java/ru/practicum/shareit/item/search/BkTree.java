@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+class BkTree {
+    private final Map<String, Node> nodes = new HashMap<>();
+    private Node root;
+
+    static int distance(String first, String second, int maxDistance) {
+        if (Math.abs(first.length() - second.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[second.length()], maxDistance + 1);
+    }
+
+    Node add(String term) {
+        Node existing = nodes.get(term);
+        if (existing != null) {
+            return existing;
+        }
+        Node node = new Node(term);
+        nodes.put(term, node);
+        if (root == null) {
+            root = node;
+            return node;
+        }
+
+        Node parent = root;
+        while (true) {
+            int distance = distance(term, parent.term, Integer.MAX_VALUE - 1);
+            Node child = parent.children.get(distance);
+            if (child == null) {
+                parent.children.put(distance, node);
+                return node;
+            }
+            parent = child;
+        }
+    }
+
+    Node find(String term) {
+        return nodes.get(term);
+    }
+
+    void search(String term, int maxDistance, Visitor visitor) {
+        if (root == null) {
+            return;
+        }
+        Deque<Node> candidates = new ArrayDeque<>();
+        candidates.push(root);
+        while (!candidates.isEmpty()) {
+            Node node = candidates.pop();
+            int distance = distance(term, node.term, Integer.MAX_VALUE - 1);
+            if (distance <= maxDistance) {
+                visitor.visit(node, distance);
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    candidates.push(child.getValue());
+                }
+            }
+        }
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    interface Visitor {
+        void visit(Node node, int distance);
+    }
+
+    static class Node {
+        final String term;
+        final PostingList names = new PostingList();
+        final PostingList descriptions = new PostingList();
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        private Node(String term) {
+            this.term = term;
+        }
+    }
+}
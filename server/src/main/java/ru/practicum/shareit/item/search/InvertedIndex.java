@@ -0,0 +1,223 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class InvertedIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<String, PostingList> nameGrams = new HashMap<>();
+    private final Map<String, PostingList> descriptionGrams = new HashMap<>();
+    private final Map<String, PostingList> nameStems = new HashMap<>();
+    private final Map<String, PostingList> descriptionStems = new HashMap<>();
+    private final BitSet available = new BitSet();
+    private final BkTree terms = new BkTree();
+    // Текст документов нужен для точной сверки кандидатов до пагинации и для снятия старых постингов.
+    // На 1 млн предметов (название 2-3 слова, описание 6-11) он занимает ~350 МиБ при ~580 МиБ постингов
+    // и BK-дерева; ItemNameTrie ссылается на те же объекты документов
+    private final Map<Integer, ItemSearchDocument> documents = new HashMap<>();
+
+    static Set<String> grams(String text) {
+        String normalized = TextAnalyzer.normalize(text);
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    static int maxDistance(String word) {
+        if (word.length() < 3) {
+            return 0;
+        }
+        return word.length() < 6 ? 1 : 2;
+    }
+
+    void add(ItemSearchDocument document) {
+        int id = document.getId();
+        remove(id);
+        documents.put(id, document);
+        addGrams(nameGrams, document.getName(), id);
+        addGrams(descriptionGrams, document.getDescription(), id);
+        available.set(id, Boolean.TRUE.equals(document.getAvailable()));
+        for (String word : TextAnalyzer.words(document.getName())) {
+            terms.add(word).names.add(id);
+            nameStems.computeIfAbsent(TextAnalyzer.stem(word), key -> new PostingList()).add(id);
+        }
+        for (String word : TextAnalyzer.words(document.getDescription())) {
+            terms.add(word).descriptions.add(id);
+            descriptionStems.computeIfAbsent(TextAnalyzer.stem(word), key -> new PostingList()).add(id);
+        }
+    }
+
+    // Старые постинги снимаются по сохранённому документу, иначе после переименования предмет
+    // остаётся кандидатом по прежнему названию, а индекс растёт с каждым обновлением
+    void remove(int id) {
+        ItemSearchDocument previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        removeGrams(nameGrams, previous.getName(), id);
+        removeGrams(descriptionGrams, previous.getDescription(), id);
+        available.clear(id);
+        for (String word : TextAnalyzer.words(previous.getName())) {
+            terms.find(word).names.remove(id);
+            removePosting(nameStems, TextAnalyzer.stem(word), id);
+        }
+        for (String word : TextAnalyzer.words(previous.getDescription())) {
+            terms.find(word).descriptions.remove(id);
+            removePosting(descriptionStems, TextAnalyzer.stem(word), id);
+        }
+    }
+
+    int[] fuzzySearch(String text) {
+        List<String> queryWords = TextAnalyzer.words(text);
+        if (queryWords.isEmpty()) {
+            return new int[0];
+        }
+
+        Map<Integer, int[]> scores = null;
+        for (String queryWord : queryWords) {
+            Map<Integer, int[]> wordScores = new HashMap<>();
+            terms.search(queryWord, maxDistance(queryWord), (node, distance) -> {
+                collect(wordScores, node.names, distance, true);
+                collect(wordScores, node.descriptions, distance, false);
+            });
+            if (scores == null) {
+                scores = wordScores;
+            } else {
+                scores.keySet().retainAll(wordScores.keySet());
+                for (Map.Entry<Integer, int[]> score : scores.entrySet()) {
+                    int[] wordScore = wordScores.get(score.getKey());
+                    score.getValue()[0] = sum(score.getValue()[0], wordScore[0]);
+                    score.getValue()[1] += wordScore[1];
+                }
+            }
+            if (scores.isEmpty()) {
+                return new int[0];
+            }
+        }
+
+        Map<Integer, int[]> matched = scores;
+        return matched.keySet().stream()
+                .filter(available::get)
+                .sorted(Comparator.<Integer>comparingInt(id -> matched.get(id)[0])
+                        .thenComparingInt(id -> matched.get(id)[1])
+                        .thenComparingInt(id -> id))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static void collect(Map<Integer, int[]> scores, PostingList posting, int distance, boolean inName) {
+        for (int id : posting.toArray()) {
+            int[] score = scores.computeIfAbsent(id, key -> new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE});
+            if (inName) {
+                score[0] = Math.min(score[0], distance);
+            }
+            score[1] = Math.min(score[1], distance);
+        }
+    }
+
+    private static int sum(int first, int second) {
+        return first == Integer.MAX_VALUE || second == Integer.MAX_VALUE ? Integer.MAX_VALUE : first + second;
+    }
+
+    // Совпадение всех триграмм не гарантирует подстроку, поэтому кандидаты сверяются с текстом документа
+    // до того, как сервис отрежет страницу
+    int[] search(String text) {
+        String query = TextAnalyzer.normalize(text.strip());
+        Set<String> grams = grams(query);
+        List<String> queryStems = TextAnalyzer.stems(query);
+        Set<String> stems = new HashSet<>(queryStems);
+        BitSet candidates = match(nameGrams, grams);
+        candidates.or(match(nameStems, stems));
+        candidates.or(match(descriptionGrams, grams));
+        candidates.or(match(descriptionStems, stems));
+
+        BitSet byName = new BitSet();
+        BitSet byDescription = new BitSet();
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            ItemSearchDocument document = documents.get(id);
+            if (contains(document.getName(), query, queryStems)) {
+                byName.set(id);
+            } else if (contains(document.getDescription(), query, queryStems)) {
+                byDescription.set(id);
+            }
+        }
+
+        int[] result = new int[byName.cardinality() + byDescription.cardinality()];
+        int position = 0;
+        for (int id = byName.nextSetBit(0); id >= 0; id = byName.nextSetBit(id + 1)) {
+            result[position++] = id;
+        }
+        for (int id = byDescription.nextSetBit(0); id >= 0; id = byDescription.nextSetBit(id + 1)) {
+            result[position++] = id;
+        }
+        return result;
+    }
+
+    private static boolean contains(String field, String query, List<String> queryStems) {
+        return TextAnalyzer.normalize(field).contains(query)
+                || !queryStems.isEmpty() && TextAnalyzer.stems(field).containsAll(queryStems);
+    }
+
+    private BitSet match(Map<String, PostingList> index, Set<String> terms) {
+        if (terms.isEmpty()) {
+            return new BitSet();
+        }
+        List<PostingList> postings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            PostingList posting = index.get(term);
+            if (posting == null) {
+                return new BitSet();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(PostingList::size));
+
+        BitSet result = new BitSet();
+        for (int id : postings.getFirst().toArray()) {
+            if (available.get(id) && containsAll(postings, id)) {
+                result.set(id);
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsAll(List<PostingList> postings, int id) {
+        for (int i = 1; i < postings.size(); i++) {
+            if (!postings.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addGrams(Map<String, PostingList> index, String text, int id) {
+        for (String gram : grams(text)) {
+            index.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    private static void removeGrams(Map<String, PostingList> index, String text, int id) {
+        for (String gram : grams(text)) {
+            removePosting(index, gram, id);
+        }
+    }
+
+    private static void removePosting(Map<String, PostingList> index, String term, int id) {
+        PostingList posting = index.get(term);
+        if (posting != null) {
+            posting.remove(id);
+            if (posting.size() == 0) {
+                index.remove(term);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ItemNameTrie {
+    static final int MAX_SUGGESTIONS = 20;
+
+    private final Node root = new Node();
+    private final Map<Integer, ItemSearchDocument> documents = new HashMap<>();
+    private final Comparator<Integer> order = Comparator
+            .comparingInt((Integer id) -> documents.get(id).getName().length())
+            .thenComparing(id -> documents.get(id).getName())
+            .thenComparingInt(id -> id);
+
+    void put(ItemSearchDocument document) {
+        remove(document.getId());
+        if (Boolean.TRUE.equals(document.getAvailable()) && document.getName() != null && !document.getName().isBlank()) {
+            documents.put(document.getId(), document);
+            List<Node> path = path(document.getName());
+            path.getLast().terminal.add(document.getId());
+            recompute(path);
+        }
+    }
+
+    void remove(int id) {
+        ItemSearchDocument previous = documents.remove(id);
+        if (previous != null) {
+            List<Node> path = path(previous.getName());
+            path.getLast().terminal.remove(id);
+            recompute(path);
+        }
+    }
+
+    List<ItemSearchDocument> complete(String prefix, int limit) {
+        Node node = root;
+        String normalized = TextAnalyzer.normalize(prefix);
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.children.get(normalized.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        List<ItemSearchDocument> result = new ArrayList<>(Math.min(limit, node.top.length));
+        for (int i = 0; i < node.top.length && result.size() < limit; i++) {
+            result.add(documents.get(node.top[i]));
+        }
+        return result;
+    }
+
+    private List<Node> path(String name) {
+        String normalized = TextAnalyzer.normalize(name);
+        List<Node> path = new ArrayList<>(normalized.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < normalized.length(); i++) {
+            node = node.children.computeIfAbsent(normalized.charAt(i), key -> new Node());
+            path.add(node);
+        }
+        return path;
+    }
+
+    private void recompute(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Integer> candidates = new ArrayList<>();
+            for (int id : node.terminal.toArray()) {
+                candidates.add(id);
+            }
+            for (Node child : node.children.values()) {
+                for (int id : child.top) {
+                    candidates.add(id);
+                }
+            }
+            node.top = candidates.stream()
+                    .sorted(order)
+                    .limit(MAX_SUGGESTIONS)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final PostingList terminal = new PostingList();
+        private int[] top = new int[0];
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemSearchDocument {
+    private Integer id;
+    private String name;
+    private String description;
+    private Boolean available;
+    private Integer ownerId;
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.extra.AfterCommit;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex index = new InvertedIndex();
+    private ItemNameTrie names = new ItemNameTrie();
+    private List<ItemSearchDocument> updatesDuringRebuild;
+    private List<Integer> removalsDuringRebuild;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            updatesDuringRebuild = new ArrayList<>();
+            removalsDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex rebuilt = new InvertedIndex();
+        ItemNameTrie rebuiltNames = new ItemNameTrie();
+        int indexed = 0;
+        int afterId = 0;
+        List<ItemSearchDocument> batch;
+        do {
+            batch = itemRepository.findSearchDocuments(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            for (ItemSearchDocument document : batch) {
+                rebuilt.add(document);
+                rebuiltNames.put(document);
+            }
+            indexed += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.getLast().getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            for (ItemSearchDocument document : updatesDuringRebuild) {
+                rebuilt.add(document);
+                rebuiltNames.put(document);
+            }
+            for (int id : removalsDuringRebuild) {
+                rebuilt.remove(id);
+                rebuiltNames.remove(id);
+            }
+            updatesDuringRebuild = null;
+            removalsDuringRebuild = null;
+            index = rebuilt;
+            names = rebuiltNames;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс предметов построен, проиндексировано {}", indexed);
+    }
+
+    // Индекс меняется только после коммита: иначе поиск увидит незакоммиченную правку,
+    // а после отката в индексе останется предмет, которого нет в базе
+    public void index(Item item) {
+        ItemSearchDocument document = new ItemSearchDocument(item.getId(), item.getName(),
+                item.getDescription(), item.getAvailable(), item.getUser() != null ? item.getUser().getId() : null);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                index.add(document);
+                names.put(document);
+                if (updatesDuringRebuild != null) {
+                    updatesDuringRebuild.add(document);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Предметы пользователя удаляет каскад в базе, поэтому их id читаются до удаления
+    public void removeOwner(int userId) {
+        List<Integer> itemIds = itemRepository.findIdsByUserId(userId);
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                for (int id : itemIds) {
+                    index.remove(id);
+                    names.remove(id);
+                }
+                if (removalsDuringRebuild != null) {
+                    removalsDuringRebuild.addAll(itemIds);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public Optional<int[]> search(String text) {
+        if (!ready || text.strip().length() < InvertedIndex.GRAM_LENGTH) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.search(text));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<int[]> fuzzySearch(String text) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.fuzzySearch(text));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<List<ItemSearchDocument>> autocomplete(String prefix, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(names.complete(prefix, Math.min(limit, ItemNameTrie.MAX_SUGGESTIONS)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
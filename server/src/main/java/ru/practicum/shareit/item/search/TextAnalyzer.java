@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class TextAnalyzer {
+    private static final int MIN_STEM_LENGTH = 3;
+    private static final String[] RUSSIAN_ENDINGS = {
+            "иями", "ями", "ами", "иях", "иям", "ием", "ией", "ого", "его", "ому", "ему", "ыми", "ими",
+            "ах", "ях", "ам", "ям", "ом", "ем", "ой", "ей", "ий", "ый", "ая", "яя", "ое", "ее", "ые", "ие",
+            "ую", "юю", "ым", "им", "ов", "ев", "ью", "ия", "ья", "ии",
+            "а", "я", "о", "е", "и", "ы", "у", "ю", "ь", "й"
+    };
+
+    private TextAnalyzer() {
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        char[] chars = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char folded = fold(c);
+            if (folded != c) {
+                if (chars == null) {
+                    chars = text.toCharArray();
+                }
+                chars[i] = folded;
+            }
+        }
+        return chars == null ? text : new String(chars);
+    }
+
+    static List<String> words(String text) {
+        String normalized = normalize(text);
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    static List<String> stems(String text) {
+        List<String> stems = words(text);
+        stems.replaceAll(TextAnalyzer::stem);
+        return stems;
+    }
+
+    static String stem(String word) {
+        if (word.length() <= MIN_STEM_LENGTH) {
+            return word;
+        }
+        char last = word.charAt(word.length() - 1);
+        if (last >= 'а' && last <= 'я') {
+            return stemRussian(word);
+        }
+        if (last >= 'a' && last <= 'z') {
+            return stemEnglish(word);
+        }
+        return word;
+    }
+
+    private static String stemRussian(String word) {
+        for (String ending : RUSSIAN_ENDINGS) {
+            if (word.endsWith(ending) && word.length() - ending.length() >= MIN_STEM_LENGTH) {
+                return word.substring(0, word.length() - ending.length());
+            }
+        }
+        return word;
+    }
+
+    private static String stemEnglish(String word) {
+        int length = word.length();
+        if (word.endsWith("ies") && length > 4) {
+            return word.substring(0, length - 3) + "y";
+        }
+        if (word.endsWith("sses") || word.endsWith("xes") || word.endsWith("ches") || word.endsWith("shes")) {
+            return word.substring(0, length - 2);
+        }
+        if (word.endsWith("ing") && length - 3 >= MIN_STEM_LENGTH) {
+            return word.substring(0, length - 3);
+        }
+        if (word.endsWith("ed") && length - 2 >= MIN_STEM_LENGTH) {
+            return word.substring(0, length - 2);
+        }
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+
+    private static char fold(char c) {
+        if (c == 'ё' || c == 'Ё') {
+            return 'е';
+        }
+        return Character.toLowerCase(c);
+    }
+}
@@ -2,8 +2,8 @@ package ru.practicum.shareit.request;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import ru.practicum.shareit.item.Item;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.item.ItemShortDto;
+import ru.practicum.shareit.user.UserShortDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,7 +13,7 @@ import java.util.List;
 public class ItemRequestDto {
     private Integer id;
     private String description;
-    private User requestor;
+    private UserShortDto requestor;
     private LocalDateTime created;
-    private List<Item> items;
+    private List<ItemShortDto> items;
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapper;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -12,7 +13,7 @@ public class ItemRequestMapper {
         return new ItemRequestDto(
                 itemRequest.getId(),
                 itemRequest.getDescription(),
-                itemRequest.getRequestor(),
+                UserMapper.toUserShortDto(itemRequest.getRequestor()),
                 itemRequest.getCreated(),
                 new ArrayList<>()
         );
@@ -1,12 +1,21 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
+    @Override
+    @Query("SELECT r FROM ItemRequest AS r LEFT JOIN FETCH r.requestor WHERE r.id = :id")
+    Optional<ItemRequest> findById(Integer id);
+
+    @EntityGraph(attributePaths = "requestor")
     List<ItemRequest> findAllByRequestorId(Integer requestorId, Sort sort);
 
+    @EntityGraph(attributePaths = "requestor")
     List<ItemRequest> findByRequestorIdNot(Integer requestorId, Sort sort);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.user.User;
@@ -15,11 +16,13 @@ import java.util.List;
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository repository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
 
+    @Transactional
     public ItemRequestDto addRequest(Integer userId, NewItemRequest request) {
         User requestor = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Юзер не найден"));
         ItemRequest itemRequest = ItemRequestMapper.fromNewItemRequest(request, requestor, LocalDateTime.now());
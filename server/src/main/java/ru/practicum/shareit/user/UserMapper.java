@@ -12,6 +12,16 @@ public class UserMapper {
         );
     }
 
+    public static UserShortDto toUserShortDto(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserShortDto(
+                user.getId(),
+                user.getName()
+        );
+    }
+
     public static User toUser(UserDto userDto) {
         return new User(
                 userDto.getId(),
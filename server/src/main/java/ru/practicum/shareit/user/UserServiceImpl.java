@@ -1,9 +1,16 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.ItemAvailabilityIndex;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.extra.AfterCommit;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 import ru.practicum.shareit.user.interfaces.UserService;
 
@@ -16,6 +23,9 @@ import java.util.Collection;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
     public Collection<User> getUsers() {
@@ -51,9 +61,21 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteById(Integer id) {
-        if (userExists(id)) {
-            userRepository.deleteById(id);
-        }
+        User user = getById(id);
+        itemAvailabilityIndex.releaseUser(id);
+        itemSearchIndex.removeOwner(id);
+        userRepository.delete(user);
+        // Предметы и запросы пользователя удаляет каскад в базе, о котором Hibernate не знает, поэтому их регионы
+        // и кэш запросов очищаются после коммита: очистка до коммита позволила бы параллельному чтению вернуть
+        // в кэш старые строки
+        AfterCommit.run(this::evictCascadedRegions);
+    }
+
+    private void evictCascadedRegions() {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evict(Item.class);
+        cache.evict(ItemRequest.class);
+        cache.evictQueryRegions();
     }
 
     public boolean userExists(final Integer userId) {
@@ -0,0 +1,20 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING GIN (description gin_trgm_ops);
+
+-- PostgreSQL has no ADD CONSTRAINT IF NOT EXISTS. The body is a plain string literal because
+-- Spring's script splitter does not understand dollar quoting but skips semicolons inside quotes
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM pg_constraint
+                   WHERE conrelid = ''bookings''::regclass
+                     AND conname = ''bookings_item_period_excl'') THEN
+        ALTER TABLE bookings
+            ADD CONSTRAINT bookings_item_period_excl
+                EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+                WHERE (status IN (''WAITING'', ''APPROVED''));
+    END IF;
+END';
@@ -3,17 +3,28 @@ DROP TABLE IF EXISTS bookings;
 DROP TABLE IF EXISTS items;
 DROP TABLE IF EXISTS requests;
 DROP TABLE IF EXISTS users;
+DROP SEQUENCE IF EXISTS comments_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS users_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users
 (
-    id    INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id    INTEGER PRIMARY KEY,
     name  VARCHAR(50) NOT NULL,
     email VARCHAR(50) NOT NULL UNIQUE
 );
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    id           INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id           INTEGER PRIMARY KEY,
     description  VARCHAR(50) NOT NULL,
     requester_id INTEGER REFERENCES users (id) ON DELETE CASCADE,
     created      TIMESTAMP WITHOUT TIME ZONE
@@ -21,7 +32,7 @@ CREATE TABLE IF NOT EXISTS requests
 
 CREATE TABLE IF NOT EXISTS items
 (
-    id          INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id          INTEGER PRIMARY KEY,
     name        VARCHAR(50) NOT NULL,
     description VARCHAR(255),
     available   BOOLEAN,
@@ -31,19 +42,24 @@ CREATE TABLE IF NOT EXISTS items
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id         INTEGER PRIMARY KEY,
     start_date TIMESTAMP WITHOUT TIME ZONE,
     end_date   TIMESTAMP WITHOUT TIME ZONE,
     item_id    INTEGER REFERENCES items (id) ON DELETE CASCADE,
     booker_id  INTEGER REFERENCES users (id) ON DELETE CASCADE,
-    status     VARCHAR(10) NOT NULL
+    status     VARCHAR(10) NOT NULL,
+    version    BIGINT      NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    id        INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id        INTEGER PRIMARY KEY,
     text      VARCHAR(500) NOT NULL,
     item_id   INTEGER REFERENCES items (id) ON DELETE CASCADE,
     author_id INTEGER REFERENCES users (id) ON DELETE CASCADE,
     created   TIMESTAMP WITHOUT TIME ZONE
-);
\ No newline at end of file
+);
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_status_start_idx ON bookings (status, start_date);
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id);
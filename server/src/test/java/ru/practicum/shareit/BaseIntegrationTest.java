@@ -0,0 +1,86 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.interfaces.CommentRepository;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+
+// Общая конфигурация для всех @SpringBootTest: один контекст переиспользуется между классами.
+// Колесо истечения бронирований включено, но тик в час не успевает сработать за прогон,
+// поэтому тесты вызывают expire(now) сами
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit-server.booking-expiry.enabled=true",
+        "shareit-server.booking-expiry.tick=PT1H"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class BaseIntegrationTest {
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected ItemRepository itemRepository;
+
+    @Autowired
+    protected BookingRepository bookingRepository;
+
+    @Autowired
+    protected CommentRepository commentRepository;
+
+    @Autowired
+    protected ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    protected ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    protected TransactionTemplate transactionTemplate;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    protected Statistics statistics;
+    protected User owner;
+    protected User booker;
+    protected Item item;
+
+    @BeforeEach
+    void createFixture() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.ru").build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .user(owner)
+                .build());
+    }
+
+    @AfterEach
+    void deleteFixture() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        // deleteAll идёт в обход сервисов, поэтому поисковый индекс, живущий вместе с контекстом, строится заново
+        itemSearchIndex.rebuild();
+    }
+}
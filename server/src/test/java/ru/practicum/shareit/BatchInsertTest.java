@@ -0,0 +1,55 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchInsertTest extends BaseIntegrationTest {
+    private static final int ROWS = 120;
+
+    @BeforeEach
+    void setUp() {
+        statistics.clear();
+    }
+
+    @Test
+    void saveAll_shouldInsertUsersInBatches() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            users.add(User.builder().name("user " + i).email("user" + i + "@mail.ru").build());
+        }
+
+        userRepository.saveAll(users);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+        assertThat(users).extracting(User::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void interleavedSaves_shouldBeGroupedByTable() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                User owner = userRepository.save(User.builder()
+                        .name("owner " + i)
+                        .email("owner" + i + "@mail.ru")
+                        .build());
+                itemRepository.save(Item.builder()
+                        .name("Дрель " + i)
+                        .description("Аккумуляторная дрель")
+                        .available(true)
+                        .user(owner)
+                        .build());
+            }
+        });
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2L * ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(16);
+    }
+}
@@ -0,0 +1,253 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.extra.BookingStatusEnum;
+import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class QueryCountTest extends BaseIntegrationTest {
+    private static final int ITEMS = 5;
+    private static final int BOOKINGS_PER_ITEM = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Booking booking;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        User requestor = userRepository.save(User.builder().name("requestor").email("requestor@mail.ru").build());
+        request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requestor(requestor)
+                .created(LocalDateTime.now())
+                .build());
+
+        LocalDateTime now = LocalDateTime.now();
+        item.setRequest(request);
+        item = itemRepository.save(item);
+        List<Item> items = new ArrayList<>(List.of(item));
+        for (int i = 1; i < ITEMS; i++) {
+            items.add(itemRepository.save(Item.builder()
+                    .name("Дрель " + i)
+                    .description("Аккумуляторная дрель")
+                    .available(true)
+                    .user(owner)
+                    .request(request)
+                    .build()));
+        }
+
+        for (Item bookedItem : items) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                booking = bookingRepository.save(Booking.builder()
+                        .start(now.minusDays(10).plusDays(i * 8L))
+                        .end(now.minusDays(9).plusDays(i * 8L))
+                        .item(bookedItem)
+                        .booker(booker)
+                        .status(BookingStatusEnum.APPROVED)
+                        .build());
+            }
+            commentRepository.save(Comment.builder()
+                    .text("Отличная дрель")
+                    .item(bookedItem)
+                    .author(booker)
+                    .created(now)
+                    .build());
+        }
+    }
+
+    @Test
+    void getBookingsByBooker_shouldUseSingleStatement() throws Exception {
+        assertStatements(1, get("/bookings").header("X-Sharer-User-Id", booker.getId()).param("size", "20"));
+    }
+
+    @Test
+    void getBookingsByOwner_shouldNotDependOnBookingCount() throws Exception {
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")) {
+            assertStatements(2, get("/bookings/owner").header("X-Sharer-User-Id", owner.getId())
+                    .param("state", state)
+                    .param("size", "20"));
+        }
+    }
+
+    @Test
+    void getBookingById_shouldUseSingleStatement() throws Exception {
+        assertStatements(1, get("/bookings/{id}", booking.getId()).header("X-Sharer-User-Id", booker.getId()));
+    }
+
+    @Test
+    void getItemById_shouldNotLoadAssociationsOneByOne() throws Exception {
+        assertStatements(3, get("/items/{id}", item.getId()).header("X-Sharer-User-Id", owner.getId()));
+    }
+
+    @Test
+    void getItemsByOwner_shouldNotDependOnItemCount() throws Exception {
+        assertStatements(4, get("/items").header("X-Sharer-User-Id", owner.getId()));
+    }
+
+    @Test
+    void getRequestById_shouldNotDependOnItemCount() throws Exception {
+        assertStatements(2, get("/requests/{id}", request.getId()).header("X-Sharer-User-Id", owner.getId()));
+    }
+
+    @Test
+    void getItemsByOwner_shouldReturnNearestBookingsOfEachItem() throws Exception {
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ITEMS))
+                .andExpect(jsonPath("$[0].lastBooking.item.id").value(item.getId()))
+                .andExpect(jsonPath("$[0].nextBooking.item.id").value(item.getId()))
+                .andExpect(jsonPath("$[0].comments.length()").value(1))
+                .andExpect(jsonPath("$[4].nextBooking.id").value(booking.getId()));
+    }
+
+    @Test
+    void getItemById_shouldHideNearestBookingsFromNotOwner() throws Exception {
+        mockMvc.perform(get("/items/{id}", item.getId()).header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextBooking").doesNotExist())
+                .andExpect(jsonPath("$.lastBooking").doesNotExist());
+    }
+
+    @Test
+    void updateItem_shouldUseSingleUpdateStatement() throws Exception {
+        mockMvc.perform(get("/items/{id}", item.getId()).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(patch("/items/{id}", item.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Перфоратор\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Перфоратор"))
+                .andExpect(jsonPath("$.available").value(true));
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "Неожиданное число SQL-запросов");
+        assertEquals(request.getId(), itemRepository.findById(item.getId()).orElseThrow().getRequest().getId());
+    }
+
+    @Test
+    void updateUser_shouldUseSingleUpdateStatement() throws Exception {
+        mockMvc.perform(get("/users/{id}", owner.getId())).andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(patch("/users/{id}", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"new owner\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("new owner"))
+                .andExpect(jsonPath("$.email").value("owner@mail.ru"));
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "Неожиданное число SQL-запросов");
+    }
+
+    @Test
+    void approveBooking_shouldLoadBookingGraphOnce() throws Exception {
+        Booking waiting = bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(30))
+                .end(LocalDateTime.now().plusDays(31))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatusEnum.WAITING)
+                .build());
+        evictCaches();
+        statistics.clear();
+
+        mockMvc.perform(patch("/bookings/{id}", waiting.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"));
+
+        assertEquals(2, statistics.getPrepareStatementCount(), "Неожиданное число SQL-запросов");
+        assertLoadedAtMostOnce(Booking.class, User.class, Item.class);
+    }
+
+    @Test
+    void approveBookingsBatch_shouldUseSingleSelectAndBatchedUpdate() throws Exception {
+        StringBuilder decisions = new StringBuilder("[");
+        for (int i = 0; i < ITEMS; i++) {
+            Booking waiting = bookingRepository.save(Booking.builder()
+                    .start(LocalDateTime.now().plusDays(30 + i))
+                    .end(LocalDateTime.now().plusDays(31 + i))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatusEnum.WAITING)
+                    .build());
+            decisions.append(i == 0 ? "" : ",")
+                    .append("{\"bookingId\": ").append(waiting.getId()).append(", \"approved\": ").append(i % 2 == 0).append("}");
+        }
+        decisions.append("]");
+        statistics.clear();
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(decisions.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ITEMS))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"));
+
+        assertEquals(2, statistics.getPrepareStatementCount(), "Неожиданное число SQL-запросов");
+        assertEquals(ITEMS, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void deleteUser_shouldLoadUserOnce() throws Exception {
+        User guest = userRepository.save(User.builder().name("guest").email("guest@mail.ru").build());
+        evictCaches();
+        statistics.clear();
+
+        mockMvc.perform(delete("/users/{id}", guest.getId()))
+                .andExpect(status().isOk());
+
+        // пользователь, предметы с его бронированиями для календарей, его предметы для поискового индекса, удаление
+        assertEquals(4, statistics.getPrepareStatementCount(), "Неожиданное число SQL-запросов");
+        assertLoadedAtMostOnce(User.class);
+    }
+
+    private void evictCaches() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private void assertLoadedAtMostOnce(Class<?>... entities) {
+        for (Class<?> entity : entities) {
+            long loads = statistics.getEntityStatistics(entity.getName()).getLoadCount();
+            assertTrue(loads <= 1, entity.getSimpleName() + " загружен " + loads + " раз");
+        }
+    }
+
+    private void assertStatements(long expected, MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").exists());
+
+        assertEquals(expected, statistics.getPrepareStatementCount(),
+                "Неожиданное число SQL-запросов");
+    }
+}
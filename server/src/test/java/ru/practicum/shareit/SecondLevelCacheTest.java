@@ -0,0 +1,118 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDtoRequest;
+import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.interfaces.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SecondLevelCacheTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private User requestor;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        requestor = userRepository.save(User.builder().name("requestor").email("requestor@mail.ru").build());
+        request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requestor(requestor)
+                .created(LocalDateTime.now())
+                .build());
+        item.setRequest(request);
+        item = itemRepository.save(item);
+    }
+
+    @Test
+    void getUserById_shouldBeServedFromSecondLevelCache() {
+        userService.getById(owner.getId());
+        statistics.clear();
+
+        User cached = userService.getById(owner.getId());
+
+        assertThat(cached.getName()).isEqualTo("owner");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateUser_shouldBeVisibleThroughCache() {
+        userService.getById(owner.getId());
+
+        userService.update(owner.getId(), User.builder().name("new owner").email("new@mail.ru").build());
+
+        User updated = userService.getById(owner.getId());
+        assertThat(updated.getName()).isEqualTo("new owner");
+        assertThat(updated.getEmail()).isEqualTo("new@mail.ru");
+        assertThat(itemService.get(item.getId(), owner.getId()).getOwner().getName()).isEqualTo("new owner");
+    }
+
+    @Test
+    void updateItem_shouldBeVisibleThroughCache() {
+        itemService.get(item.getId(), owner.getId());
+
+        itemService.update(item.getId(), ItemDtoRequest.builder()
+                .name("Перфоратор")
+                .available(true)
+                .build(), owner.getId());
+
+        assertThat(itemService.get(item.getId(), owner.getId()).getName()).isEqualTo("Перфоратор");
+        assertThat(itemRepository.findAllByIdIn(List.of(item.getId())))
+                .extracting(Item::getName)
+                .containsExactly("Перфоратор");
+    }
+
+    @Test
+    void findRequestById_shouldInvalidateCachedItemsOfRequest() {
+        itemRequestService.findById(request.getId());
+        statistics.clear();
+        itemRequestService.findById(request.getId());
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        itemRepository.save(Item.builder()
+                .name("Шуруповерт")
+                .description("Для сборки мебели")
+                .available(true)
+                .user(owner)
+                .request(request)
+                .build());
+
+        assertThat(itemRequestService.findById(request.getId()).getItems()).hasSize(2);
+    }
+
+    @Test
+    void deleteUser_shouldEvictCascadedItemsAndRequests() {
+        itemRequestService.findById(request.getId());
+        itemRequestService.findById(request.getId());
+
+        userService.deleteById(owner.getId());
+
+        assertThat(itemRequestService.findById(request.getId()).getItems()).isEmpty();
+
+        userService.deleteById(requestor.getId());
+
+        assertThatThrownBy(() -> itemRequestService.findById(request.getId()))
+                .isInstanceOf(NotFoundException.class);
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.BaseIntegrationTest;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.extra.BookingStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingConcurrencyTest extends BaseIntegrationTest {
+    private static final int THREADS = 200;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void createBooking_shouldGiveSameSlotToSingleThread() throws Exception {
+        List<Future<Booking>> results = runConcurrently(i -> createBooking(start, start.plusDays(2)));
+
+        int created = 0;
+        int conflicts = 0;
+        for (Future<Booking> result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(ConflictException.class);
+                conflicts++;
+            }
+        }
+
+        assertThat(created).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(THREADS - 1);
+        assertThat(bookingRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createBooking_shouldAcceptAdjacentSlotsFromAllThreads() throws Exception {
+        List<Future<Booking>> results = runConcurrently(i -> createBooking(start.plusHours(i), start.plusHours(i + 1)));
+
+        for (Future<Booking> result : results) {
+            assertThat(result.get().getStatus()).isEqualTo(BookingStatusEnum.WAITING);
+        }
+        assertThat(bookingRepository.count()).isEqualTo(THREADS);
+    }
+
+    @Test
+    void approvedBooking_shouldApplySingleConcurrentDecision() throws Exception {
+        Booking booking = createBooking(start, start.plusDays(1));
+
+        List<Future<Booking>> results = runConcurrently(i -> bookingService.approvedBooking(owner.getId(), booking.getId(), i % 2 == 0));
+
+        Booking winner = null;
+        for (Future<Booking> result : results) {
+            try {
+                Booking decided = result.get();
+                assertThat(winner).isNull();
+                winner = decided;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOfAny(ConflictException.class, ValidationException.class);
+            }
+        }
+
+        assertThat(winner).isNotNull();
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(winner.getStatus());
+        assertThat(stored.getVersion()).isEqualTo(1);
+    }
+
+    private Booking createBooking(LocalDateTime from, LocalDateTime to) {
+        return bookingService.createBooking(booker.getId(), BookingDtoRequest.builder()
+                .itemId(item.getId())
+                .start(from)
+                .end(to)
+                .build());
+    }
+
+    private List<Future<Booking>> runConcurrently(IntFunction<Booking> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Booking>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                int number = i;
+                Callable<Booking> task = () -> {
+                    ready.await();
+                    return action.apply(number);
+                };
+                results.add(executor.submit(task));
+            }
+            ready.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        return results;
+    }
+}
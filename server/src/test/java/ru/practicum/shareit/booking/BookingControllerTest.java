@@ -7,6 +7,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.booking.interfaces.BookingService;
@@ -17,6 +19,7 @@ import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
@@ -88,6 +91,22 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(booking.getStatus().name())));
     }
 
+    @Test
+    void approvedBookings_shouldReturnResultPerBooking() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1, true), new BookingDecisionDto(2, false));
+        when(bookingService.approvedBookings(1, decisions)).thenReturn(List.of(
+                new BookingDecisionResultDto(1, BookingStatusEnum.APPROVED, null),
+                new BookingDecisionResultDto(2, null, "Бронирование с id -2 не найдено")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("APPROVED")))
+                .andExpect(jsonPath("$[1].error", is("Бронирование с id -2 не найдено")));
+    }
+
     @Test
     void getBookingById_shouldReturn200() throws Exception {
         when(bookingService.getBookingById(anyInt(), anyInt()))
@@ -103,7 +122,7 @@ class BookingControllerTest {
 
     @Test
     void getBookingsByBooker_shouldReturn200() throws Exception {
-        when(bookingService.getBookingsByBooker(anyInt(), any(State.class)))
+        when(bookingService.getBookingsByBooker(anyInt(), any(State.class), any(ScrollPosition.class), anyInt()))
                 .thenReturn(List.of(booking));
 
         mockMvc.perform(get("/bookings")
@@ -117,7 +136,7 @@ class BookingControllerTest {
 
     @Test
     void getBookingsByOwner_shouldReturn200() throws Exception {
-        when(bookingService.getBookingsByOwner(anyInt(), any(State.class)))
+        when(bookingService.getBookingsByOwner(anyInt(), any(State.class), any(ScrollPosition.class), anyInt()))
                 .thenReturn(List.of(booking));
 
         mockMvc.perform(get("/bookings/owner")
@@ -128,4 +147,35 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id", is(booking.getId())))
                 .andExpect(jsonPath("$[0].status", is(booking.getStatus().name())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingsByBooker_shouldUseKeysetPositionWhenCursorGiven() throws Exception {
+        LocalDateTime afterStart = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(bookingService.getBookingsByBooker(anyInt(), any(State.class), any(ScrollPosition.class), anyInt()))
+                .thenReturn(List.of(booking));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("size", "5")
+                        .param("afterStart", "2024-01-01T12:00:00")
+                        .param("afterId", "7"))
+                .andExpect(status().isOk());
+
+        verify(bookingService).getBookingsByBooker(1, State.ALL,
+                ScrollPosition.forward(Map.of("start", afterStart, "id", 7)), 5);
+    }
+
+    @Test
+    void getBookingsByOwner_shouldUseOffsetPositionByDefault() throws Exception {
+        when(bookingService.getBookingsByOwner(anyInt(), any(State.class), any(ScrollPosition.class), anyInt()))
+                .thenReturn(List.of(booking));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "20")
+                        .param("size", "10"))
+                .andExpect(status().isOk());
+
+        verify(bookingService).getBookingsByOwner(1, State.ALL, ScrollPosition.offset(19), 10);
+    }
+}
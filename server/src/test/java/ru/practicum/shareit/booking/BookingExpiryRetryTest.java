@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.extra.BookingStatusEnum;
+import ru.practicum.shareit.item.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExpiryRetryTest {
+    private static final int BOOKINGS = 1200;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BookingExpiry bookingExpiry;
+
+    @BeforeEach
+    void setUp() {
+        bookingExpiry = new BookingExpiry(bookingRepository, itemAvailabilityIndex,
+                new TransactionTemplate(transactionManager), meterRegistry, true, Duration.ofSeconds(1), 8);
+
+        Item item = Item.builder().id(10).build();
+        for (int id = 1; id <= BOOKINGS; id++) {
+            bookingExpiry.track(Booking.builder()
+                    .id(id)
+                    .item(item)
+                    .start(LocalDateTime.now().minusHours(1))
+                    .status(BookingStatusEnum.WAITING)
+                    .build());
+        }
+    }
+
+    @Test
+    void expire_shouldRescheduleAllBatchesWhenTransactionCannotStart() {
+        when(transactionManager.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("Нет соединения с базой"))
+                .thenReturn(new SimpleTransactionStatus());
+
+        assertEquals(0, bookingExpiry.expire(LocalDateTime.now().plusSeconds(5)));
+        assertEquals(BOOKINGS, pending());
+        verify(bookingRepository, never()).updateStatusByIdInAndStatus(anyCollection(), any(), any());
+
+        when(bookingRepository.updateStatusByIdInAndStatus(anyCollection(), eq(BookingStatusEnum.WAITING),
+                eq(BookingStatusEnum.CANCELED)))
+                .thenAnswer(invocation -> invocation.getArgument(0, Collection.class).size());
+
+        assertEquals(BOOKINGS, bookingExpiry.expire(LocalDateTime.now().plusSeconds(10)));
+        assertEquals(0, pending());
+    }
+
+    private double pending() {
+        return meterRegistry.get("bookings.expiry.pending").gauge().value();
+    }
+}
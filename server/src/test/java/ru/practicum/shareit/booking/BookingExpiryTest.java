@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.BaseIntegrationTest;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.extra.BookingStatusEnum;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingExpiryTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BookingExpiry bookingExpiry;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().plusHours(1).withNano(0);
+    }
+
+    @Test
+    void expire_shouldCancelOnlyStartedBookingsStillWaiting() {
+        Booking stale = createBooking(start, start.plusHours(1));
+        Booking approved = createBooking(start.plusHours(1), start.plusHours(2));
+        Booking rejected = createBooking(start.plusHours(2), start.plusHours(3));
+        Booking future = createBooking(start.plusDays(3), start.plusDays(4));
+        bookingService.approvedBooking(owner.getId(), approved.getId(), true);
+        // решение в обход сервиса: колесо о нём не знает, отмену должен отсечь условный UPDATE
+        rejected.setStatus(BookingStatusEnum.REJECTED);
+        bookingRepository.save(rejected);
+        assertThat(itemAvailabilityIndex.busy(item.getId(), start, start.plusHours(2))).isNotEmpty();
+        double expiredBefore = meterRegistry.get("bookings.expiry.expired").counter().count();
+        double pendingBefore = meterRegistry.get("bookings.expiry.pending").gauge().value();
+
+        assertThat(bookingExpiry.expire(start.plusHours(5))).isEqualTo(1);
+
+        Booking canceled = bookingRepository.findById(stale.getId()).orElseThrow();
+        assertThat(canceled.getStatus()).isEqualTo(BookingStatusEnum.CANCELED);
+        assertThat(canceled.getVersion()).isEqualTo(1);
+        assertThat(bookingRepository.findById(approved.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatusEnum.APPROVED);
+        assertThat(bookingRepository.findById(rejected.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatusEnum.REJECTED);
+        assertThat(bookingRepository.findById(future.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatusEnum.WAITING);
+        assertThat(itemAvailabilityIndex.busy(item.getId(), start, start.plusHours(1))).isEmpty();
+        assertThat(meterRegistry.get("bookings.expiry.expired").counter().count()).isEqualTo(expiredBefore + 1);
+        assertThat(meterRegistry.get("bookings.expiry.lag").timer().count()).isPositive();
+        // колесо общее для всех тестов контекста: его покидают просроченное и отклонённое в обход сервиса
+        assertThat(meterRegistry.get("bookings.expiry.pending").gauge().value()).isEqualTo(pendingBefore - 2);
+
+        assertThrows(ValidationException.class, () -> bookingService.approvedBooking(owner.getId(), stale.getId(), true));
+    }
+
+    private Booking createBooking(LocalDateTime from, LocalDateTime to) {
+        return bookingService.createBooking(booker.getId(), BookingDtoRequest.builder()
+                .itemId(item.getId())
+                .start(from)
+                .end(to)
+                .build());
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingExpiryWheel.Expiry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingExpiryWheelTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void advance_shouldReturnBookingsOnlyAfterTheirStart() {
+        BookingExpiryWheel wheel = new BookingExpiryWheel(Duration.ofSeconds(1), 8, BASE);
+        wheel.schedule(1, 10, BASE.plusSeconds(2));
+        wheel.schedule(2, 10, BASE.plusSeconds(2).plusNanos(500_000_000));
+
+        assertThat(wheel.advance(BASE.plusSeconds(1))).isEmpty();
+        assertThat(wheel.advance(BASE.plusSeconds(2))).extracting(Expiry::bookingId).containsExactly(1);
+        assertThat(wheel.advance(BASE.plusSeconds(3))).extracting(Expiry::bookingId).containsExactly(2);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_shouldKeepBookingsFromLaterRotations() {
+        BookingExpiryWheel wheel = new BookingExpiryWheel(Duration.ofSeconds(1), 8, BASE);
+        wheel.schedule(1, 10, BASE.plusSeconds(3));
+        wheel.schedule(2, 10, BASE.plusSeconds(3 + 8));
+        wheel.schedule(3, 10, BASE.plusSeconds(3 + 8 * 100));
+
+        assertThat(wheel.advance(BASE.plusSeconds(5))).extracting(Expiry::bookingId).containsExactly(1);
+        assertThat(wheel.advance(BASE.plusSeconds(20))).extracting(Expiry::bookingId).containsExactly(2);
+        assertThat(wheel.advance(BASE.plusDays(1))).extracting(Expiry::bookingId).containsExactly(3);
+    }
+
+    @Test
+    void schedule_shouldExpireOverdueBookingOnNextTickAndHonourCancel() {
+        BookingExpiryWheel wheel = new BookingExpiryWheel(Duration.ofSeconds(1), 8, BASE);
+        wheel.schedule(1, 10, BASE.minusDays(3));
+        wheel.schedule(2, 10, BASE.plusSeconds(1));
+        wheel.schedule(2, 10, BASE.plusSeconds(4));
+        wheel.schedule(3, 10, BASE.plusSeconds(1));
+        wheel.cancel(3);
+
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(wheel.advance(BASE.plusSeconds(1))).extracting(Expiry::bookingId).containsExactly(1);
+        assertThat(wheel.advance(BASE.plusSeconds(4))).extracting(Expiry::bookingId).containsExactly(2);
+    }
+}
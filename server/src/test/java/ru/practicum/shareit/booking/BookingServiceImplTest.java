@@ -6,8 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.extra.BookingStatusEnum;
 import ru.practicum.shareit.extra.State;
@@ -40,6 +49,18 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemBookingLocks itemBookingLocks;
+
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @Mock
+    private BookingExpiry bookingExpiry;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     private User user;
     private Item item;
     private Booking booking;
@@ -109,7 +130,8 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(expectedBooking);
+        when(bookingRepository.existsOverlapping(eq(item.getId()), any(), any(), any())).thenReturn(false);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(expectedBooking);
 
         Booking actualBooking = bookingService.createBooking(booker.getId(), bookingDtoRequest);
 
@@ -123,20 +145,94 @@ class BookingServiceImplTest {
 
         verify(userRepository).findById(booker.getId());
         verify(itemRepository).findById(item.getId());
-        verify(bookingRepository).save(any(Booking.class));
+        verify(itemBookingLocks).lockUntilCompletion(item.getId());
+        verify(bookingRepository).saveAndFlush(any(Booking.class));
     }
 
 
+    @Test
+    void createBooking_ShouldThrowConflictException_WhenItemAlreadyBooked() {
+        User booker = User.builder()
+                .id(2)
+                .name("Booker")
+                .email("booker@example.com")
+                .build();
+
+        BookingDtoRequest bookingDtoRequest = BookingDtoRequest.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+
+        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsOverlapping(eq(item.getId()), any(), any(), any())).thenReturn(true);
+
+        ConflictException exception = assertThrows(
+                ConflictException.class,
+                () -> bookingService.createBooking(booker.getId(), bookingDtoRequest)
+        );
+
+        assertEquals("Item с id - 1 уже забронирован на эти даты", exception.getMessage());
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
     @Test
     void approvedBooking_ShouldApproveBooking() {
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         Booking result = bookingService.approvedBooking(user.getId(), booking.getId(), true);
 
         assertEquals(BookingStatusEnum.APPROVED, result.getStatus());
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void approvedBooking_ShouldRetry_WhenVersionChangedButBookingStillWaiting() {
+        when(bookingRepository.findById(booking.getId())).thenAnswer(invocation -> {
+            booking.setStatus(BookingStatusEnum.WAITING);
+            return Optional.of(booking);
+        });
+        when(bookingRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, booking.getId()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Booking result = bookingService.approvedBooking(user.getId(), booking.getId(), true);
+
+        assertEquals(BookingStatusEnum.APPROVED, result.getStatus());
+        verify(bookingRepository, times(2)).findById(booking.getId());
+    }
+
+    @Test
+    void approvedBooking_ShouldThrowConflict_WhenStatusChangedConcurrently() {
+        Booking rejected = Booking.builder()
+                .id(booking.getId())
+                .item(item)
+                .status(BookingStatusEnum.REJECTED)
+                .build();
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking))
+                .thenReturn(Optional.of(rejected));
+        when(bookingRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, booking.getId()));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.approvedBooking(user.getId(), booking.getId(), true));
+
+        assertEquals("Бронирование с id - 1 уже переведено параллельным запросом в статус REJECTED", exception.getMessage());
+    }
+
+    @Test
+    void approvedBooking_ShouldThrowConflict_WhenAttemptsExhausted() {
+        when(bookingRepository.findById(booking.getId())).thenAnswer(invocation -> {
+            booking.setStatus(BookingStatusEnum.WAITING);
+            return Optional.of(booking);
+        });
+        when(bookingRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, booking.getId()));
+
+        assertThrows(ConflictException.class, () -> bookingService.approvedBooking(user.getId(), booking.getId(), true));
+        verify(bookingRepository, times(3)).saveAndFlush(any(Booking.class));
     }
 
     @Test
@@ -151,10 +247,10 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingsByBooker_ShouldReturnAllBookings() {
-        when(bookingRepository.findAllBookingsByBookerIdOrderByStartDesc(user.getId()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findAllBookingsByBookerId(eq(user.getId()), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.ALL).stream().toList();
+        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.ALL, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
@@ -176,13 +272,73 @@ class BookingServiceImplTest {
     @Test
     void approvedBooking_ShouldRejectBooking() {
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         Booking result = bookingService.approvedBooking(user.getId(), booking.getId(), false);
 
         assertEquals(BookingStatusEnum.REJECTED, result.getStatus());
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void approvedBookings_ShouldApplyValidDecisionsAndReportTheRest() {
+        Booking approved = Booking.builder()
+                .id(2)
+                .booker(user)
+                .item(item)
+                .status(BookingStatusEnum.APPROVED)
+                .build();
+        Item foreignItem = Item.builder().id(2).name("Phone").user(User.builder().id(5).build()).build();
+        Booking foreign = Booking.builder()
+                .id(3)
+                .booker(user)
+                .item(foreignItem)
+                .status(BookingStatusEnum.WAITING)
+                .build();
+        when(bookingRepository.findAllByIdIn(Set.of(1, 2, 3, 4))).thenReturn(List.of(booking, approved, foreign));
+
+        List<BookingDecisionResultDto> results = bookingService.approvedBookings(user.getId(), List.of(
+                new BookingDecisionDto(1, false),
+                new BookingDecisionDto(2, false),
+                new BookingDecisionDto(3, true),
+                new BookingDecisionDto(4, true),
+                new BookingDecisionDto(1, true)));
+
+        assertEquals(List.of(
+                new BookingDecisionResultDto(1, BookingStatusEnum.REJECTED, null),
+                new BookingDecisionResultDto(2, BookingStatusEnum.APPROVED, "Предмет уже находится в статусе APPROVED"),
+                new BookingDecisionResultDto(3, null, "У пользователя с id - 1 не найден предмет - Phone"),
+                new BookingDecisionResultDto(4, null, "Бронирование с id -4 не найдено"),
+                new BookingDecisionResultDto(1, null, "Бронирование с id - 1 указано повторно")), results);
+        assertEquals(BookingStatusEnum.WAITING, foreign.getStatus());
+        verify(itemAvailabilityIndex).update(booking);
+        verify(bookingExpiry).track(booking);
+        verify(bookingRepository).flush();
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void approvedBookings_ShouldReportDecisionsWithoutIdOrApproval() {
+        when(bookingRepository.findAllByIdIn(Set.of(1))).thenReturn(List.of(booking));
+
+        List<BookingDecisionResultDto> results = bookingService.approvedBookings(user.getId(), List.of(
+                new BookingDecisionDto(null, true),
+                new BookingDecisionDto(1, null)));
+
+        assertEquals(List.of(
+                new BookingDecisionResultDto(null, null, "Не указан id бронирования"),
+                new BookingDecisionResultDto(1, null, "Не указано решение по бронированию с id - 1")), results);
+        assertEquals(BookingStatusEnum.WAITING, booking.getStatus());
+        verify(itemAvailabilityIndex, never()).update(any(Booking.class));
+    }
+
+    @Test
+    void approvedBookings_ShouldThrowConflict_WhenBatchIsStale() {
+        when(bookingRepository.findAllByIdIn(Set.of(1))).thenReturn(List.of(booking));
+        doThrow(new ObjectOptimisticLockingFailureException(Booking.class, booking.getId())).when(bookingRepository).flush();
+
+        assertThrows(ConflictException.class,
+                () -> bookingService.approvedBookings(user.getId(), List.of(new BookingDecisionDto(1, true))));
     }
 
     @Test
@@ -190,7 +346,6 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatusEnum.APPROVED);
 
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         assertThrows(
                 ValidationException.class,
@@ -200,188 +355,187 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingsByBooker_ShouldReturnCurrentBookings() {
-        when(bookingRepository.findAllCurrentBookingsByBookerId(eq(user.getId()), any(LocalDateTime.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findAllBookingsByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(eq(user.getId()), any(LocalDateTime.class), any(LocalDateTime.class), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.CURRENT).stream().toList();
+        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.CURRENT, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(bookingRepository).findAllCurrentBookingsByBookerId(eq(user.getId()), any(LocalDateTime.class));
+        verify(bookingRepository).findAllBookingsByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual(eq(user.getId()), any(LocalDateTime.class), any(LocalDateTime.class), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
 
     @Test
     void getBookingsByBooker_ShouldReturnPastBookings() {
-        when(bookingRepository.findAllBookingsByBookerIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findAllBookingsByBookerIdAndEndBefore(eq(user.getId()), any(), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.PAST).stream().toList();
+        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.PAST, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(bookingRepository).findAllBookingsByBookerIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any());
+        verify(bookingRepository).findAllBookingsByBookerIdAndEndBefore(eq(user.getId()), any(), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
     @Test
     void getBookingsByBooker_ShouldReturnFutureBookings() {
-        when(bookingRepository.findAllBookingsByBookerIdAndStartAfterOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findAllBookingsByBookerIdAndStartAfter(eq(user.getId()), any(), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.FUTURE).stream().toList();
+        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.FUTURE, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(bookingRepository).findAllBookingsByBookerIdAndStartAfterOrderByStartDesc(eq(user.getId()), any());
+        verify(bookingRepository).findAllBookingsByBookerIdAndStartAfter(eq(user.getId()), any(), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
     @Test
     void getBookingsByBooker_ShouldReturnWaitingBookings() {
         booking.setStatus(BookingStatusEnum.WAITING);
-        when(bookingRepository.findAllBookingsByBookerIdAndStatusOrderByStartDesc(user.getId(), BookingStatusEnum.WAITING))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findAllBookingsByBookerIdAndStatus(eq(user.getId()), eq(BookingStatusEnum.WAITING), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.WAITING).stream().toList();
+        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.WAITING, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(bookingRepository).findAllBookingsByBookerIdAndStatusOrderByStartDesc(user.getId(), BookingStatusEnum.WAITING);
+        verify(bookingRepository).findAllBookingsByBookerIdAndStatus(eq(user.getId()), eq(BookingStatusEnum.WAITING), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
     @Test
     void getBookingsByBooker_ShouldReturnRejectedBookings() {
         booking.setStatus(BookingStatusEnum.REJECTED);
-        when(bookingRepository.findAllBookingsByBookerIdAndStatusOrderByStartDesc(user.getId(), BookingStatusEnum.REJECTED))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findAllBookingsByBookerIdAndStatus(eq(user.getId()), eq(BookingStatusEnum.REJECTED), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.REJECTED).stream().toList();
+        List<Booking> result = bookingService.getBookingsByBooker(user.getId(), State.REJECTED, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(bookingRepository).findAllBookingsByBookerIdAndStatusOrderByStartDesc(user.getId(), BookingStatusEnum.REJECTED);
+        verify(bookingRepository).findAllBookingsByBookerIdAndStatus(eq(user.getId()), eq(BookingStatusEnum.REJECTED), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
     @Test
     void getBookingsByBooker_ShouldThrowIllegalArgumentExceptionForInvalidState() {
         assertThrows(IllegalArgumentException.class, () -> {
-            bookingService.getBookingsByBooker(1, State.valueOf("ds"));
+            bookingService.getBookingsByBooker(1, State.valueOf("ds"), ScrollPosition.offset(), 10);
         });
     }
 
     @Test
     void getBookingsByOwner_ShouldReturnAllBookings() {
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findAllItemsByUserOrderByIdAsc(user)).thenReturn(List.of(item));
-        when(bookingRepository.findAllBookingsByItemIdInOrderByStartDesc(Set.of(item.getId())))
-                .thenReturn(List.of(booking));
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(bookingRepository.findAllBookingsByItemUserId(eq(user.getId()), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.ALL).stream().toList();
+        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.ALL, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(userRepository).findById(user.getId());
-        verify(itemRepository).findAllItemsByUserOrderByIdAsc(user);
-        verify(bookingRepository).findAllBookingsByItemIdInOrderByStartDesc(Set.of(item.getId()));
+        verify(userRepository).existsById(user.getId());
+        verify(itemRepository, never()).findAllItemsByUserOrderByIdAsc(any());
+        verify(bookingRepository).findAllBookingsByItemUserId(eq(user.getId()), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
     @Test
     void getBookingsByOwner_ShouldReturnCurrentBookings() {
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllCurrentBookingsByOwnerId(eq(user.getId()), any(LocalDateTime.class)))
-                .thenReturn(List.of(booking));
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(bookingRepository.findAllBookingsByItemUserIdAndStartLessThanEqualAndEndGreaterThanEqual(eq(user.getId()), any(LocalDateTime.class), any(LocalDateTime.class), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.CURRENT).stream().toList();
+        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.CURRENT, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(bookingRepository).findAllCurrentBookingsByOwnerId(eq(user.getId()), any(LocalDateTime.class));
+        verify(bookingRepository).findAllBookingsByItemUserIdAndStartLessThanEqualAndEndGreaterThanEqual(eq(user.getId()), any(LocalDateTime.class), any(LocalDateTime.class), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
     @Test
     void getBookingsByOwner_ShouldReturnPastBookings() {
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllBookingsByItemUserIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any(LocalDateTime.class)))
-                .thenReturn(List.of(booking));
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(bookingRepository.findAllBookingsByItemUserIdAndEndBefore(eq(user.getId()), any(LocalDateTime.class), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.PAST).stream().toList();
+        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.PAST, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(bookingRepository).findAllBookingsByItemUserIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any(LocalDateTime.class));
+        verify(bookingRepository).findAllBookingsByItemUserIdAndEndBefore(eq(user.getId()), any(LocalDateTime.class), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
     @Test
     void getBookingsByOwner_ShouldReturnFutureBookings() {
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllBookingsByItemUserIdAndStartAfterOrderByStartDesc(eq(user.getId()), any(LocalDateTime.class)))
-                .thenReturn(List.of(booking));
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(bookingRepository.findAllBookingsByItemUserIdAndStartAfter(eq(user.getId()), any(LocalDateTime.class), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.FUTURE).stream().toList();
+        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.FUTURE, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(bookingRepository).findAllBookingsByItemUserIdAndStartAfterOrderByStartDesc(eq(user.getId()), any(LocalDateTime.class));
+        verify(bookingRepository).findAllBookingsByItemUserIdAndStartAfter(eq(user.getId()), any(LocalDateTime.class), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
     @Test
     void getBookingsByOwner_ShouldReturnWaitingBookings() {
         booking.setStatus(BookingStatusEnum.WAITING);
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllBookingsByItemUserIdAndStatusOrderByStartDesc(user.getId(), BookingStatusEnum.WAITING))
-                .thenReturn(List.of(booking));
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(bookingRepository.findAllBookingsByItemUserIdAndStatus(eq(user.getId()), eq(BookingStatusEnum.WAITING), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.WAITING).stream().toList();
+        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.WAITING, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(bookingRepository).findAllBookingsByItemUserIdAndStatusOrderByStartDesc(user.getId(), BookingStatusEnum.WAITING);
+        verify(bookingRepository).findAllBookingsByItemUserIdAndStatus(eq(user.getId()), eq(BookingStatusEnum.WAITING), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
     @Test
     void getBookingsByOwner_ShouldReturnRejectedBookings() {
         booking.setStatus(BookingStatusEnum.REJECTED);
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllBookingsByItemUserIdAndStatusOrderByStartDesc(user.getId(), BookingStatusEnum.REJECTED))
-                .thenReturn(List.of(booking));
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(bookingRepository.findAllBookingsByItemUserIdAndStatus(eq(user.getId()), eq(BookingStatusEnum.REJECTED), any(ScrollPosition.class), any(Limit.class), any(Sort.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
-        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.REJECTED).stream().toList();
+        List<Booking> result = bookingService.getBookingsByOwner(user.getId(), State.REJECTED, ScrollPosition.offset(), 10).stream().toList();
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
 
-        verify(bookingRepository).findAllBookingsByItemUserIdAndStatusOrderByStartDesc(user.getId(), BookingStatusEnum.REJECTED);
+        verify(bookingRepository).findAllBookingsByItemUserIdAndStatus(eq(user.getId()), eq(BookingStatusEnum.REJECTED), any(ScrollPosition.class), any(Limit.class), any(Sort.class));
     }
 
     @Test
     void getBookingsByOwner_ShouldThrowNotFoundException_WhenUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyInt())).thenReturn(false);
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> bookingService.getBookingsByOwner(999, State.ALL)
+                () -> bookingService.getBookingsByOwner(999, State.ALL, ScrollPosition.offset(), 10)
         );
 
         assertTrue(exception.getMessage().contains("Не найден пользователь с id"));
@@ -391,7 +545,7 @@ class BookingServiceImplTest {
     void getBookingsByOwner_ShouldThrowIllegalArgumentException_ForInvalidState() {
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
-                () -> bookingService.getBookingsByOwner(user.getId(), State.valueOf("INVALID_STATE"))
+                () -> bookingService.getBookingsByOwner(user.getId(), State.valueOf("INVALID_STATE"), ScrollPosition.offset(), 10)
         );
 
         assertTrue(exception.getMessage().contains("No enum constant"));
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.BaseIntegrationTest;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.interfaces.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemAvailabilityIndexTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void busy_shouldFollowCreatedAndRejectedBookings() {
+        assertThat(itemAvailabilityIndex.busy(item.getId(), start, start.plusDays(10))).isEmpty();
+
+        Booking booking = bookingService.createBooking(booker.getId(), request(start.plusDays(1), start.plusDays(2)));
+
+        assertThat(itemAvailabilityIndex.busy(item.getId(), start, start.plusDays(10)))
+                .containsExactly(new BookingPeriod(start.plusDays(1), start.plusDays(2)));
+
+        bookingService.approvedBooking(owner.getId(), booking.getId(), false);
+
+        assertThat(itemAvailabilityIndex.busy(item.getId(), start, start.plusDays(10))).isEmpty();
+    }
+
+    @Test
+    void busy_shouldIgnoreRolledBackBooking() {
+        assertThat(itemAvailabilityIndex.busy(item.getId(), start, start.plusDays(10))).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingService.createBooking(booker.getId(), request(start.plusDays(1), start.plusDays(2)));
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemAvailabilityIndex.busy(item.getId(), start, start.plusDays(10))).isEmpty();
+    }
+
+    @Test
+    void busy_shouldForgetBookingsOfDeletedUser() {
+        User other = userRepository.save(User.builder().name("other").email("other@mail.ru").build());
+        bookingService.createBooking(booker.getId(), request(start.plusDays(1), start.plusDays(2)));
+        assertThat(itemAvailabilityIndex.busy(item.getId(), start, start.plusDays(10))).isNotEmpty();
+
+        userService.deleteById(booker.getId());
+
+        assertThat(itemAvailabilityIndex.busy(item.getId(), start, start.plusDays(10))).isEmpty();
+
+        bookingService.createBooking(other.getId(), request(start.plusDays(1).plusHours(12), start.plusDays(3)));
+
+        assertThat(itemAvailabilityIndex.busy(item.getId(), start, start.plusDays(10)))
+                .containsExactly(new BookingPeriod(start.plusDays(1).plusHours(12), start.plusDays(3)));
+    }
+
+    private BookingDtoRequest request(LocalDateTime from, LocalDateTime to) {
+        return BookingDtoRequest.builder()
+                .itemId(item.getId())
+                .start(from)
+                .end(to)
+                .build();
+    }
+}
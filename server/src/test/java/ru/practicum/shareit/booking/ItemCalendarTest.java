@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemCalendarTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void busy_shouldClipAndMergeAdjacentBookings() {
+        ItemCalendar calendar = new ItemCalendar();
+        calendar.put(1, day(1), day(3));
+        calendar.put(2, day(3), day(4));
+        calendar.put(3, day(6), day(8));
+
+        assertThat(calendar.busy(day(2), day(7))).containsExactly(
+                new BookingPeriod(day(2), day(4)),
+                new BookingPeriod(day(6), day(7)));
+        assertThat(calendar.busy(day(4), day(6))).isEmpty();
+    }
+
+    @Test
+    void busy_shouldFindLongBookingStartedBeforePeriod() {
+        ItemCalendar calendar = new ItemCalendar();
+        for (int i = 0; i < 1000; i++) {
+            calendar.put(i, BASE.minusDays(i + 1), BASE.minusDays(i + 1).plusHours(1));
+        }
+        calendar.put(1000, BASE.minusDays(2000), day(10));
+
+        assertThat(calendar.busy(day(5), day(6))).containsExactly(new BookingPeriod(day(5), day(6)));
+    }
+
+    @Test
+    void busy_shouldFindDisjointBookingStartedLongBeforePeriod() {
+        ItemCalendar calendar = new ItemCalendar();
+        calendar.put(1, BASE.minusDays(2000), day(10));
+        calendar.put(2, day(10), day(11));
+        calendar.put(3, day(12), day(13));
+
+        assertThat(calendar.busy(day(5), day(6))).containsExactly(new BookingPeriod(day(5), day(6)));
+        assertThat(calendar.busy(day(9), day(14))).containsExactly(
+                new BookingPeriod(day(9), day(11)),
+                new BookingPeriod(day(12), day(13)));
+    }
+
+    @Test
+    void busy_shouldMergeOverlappingSlotsAfterRemoval() {
+        ItemCalendar calendar = new ItemCalendar();
+        calendar.put(1, day(1), day(2));
+        calendar.put(2, day(0), day(5));
+        calendar.put(3, day(4), day(6));
+        calendar.put(4, day(7), day(8));
+
+        assertThat(calendar.busy(day(0), day(10))).containsExactly(
+                new BookingPeriod(day(0), day(6)),
+                new BookingPeriod(day(7), day(8)));
+
+        calendar.remove(2);
+
+        assertThat(calendar.busy(day(0), day(10))).containsExactly(
+                new BookingPeriod(day(1), day(2)),
+                new BookingPeriod(day(4), day(6)),
+                new BookingPeriod(day(7), day(8)));
+        assertThat(calendar.busy(day(5), day(10))).containsExactly(
+                new BookingPeriod(day(5), day(6)),
+                new BookingPeriod(day(7), day(8)));
+    }
+
+    @Test
+    void put_shouldReplaceAndRemoveBookingById() {
+        ItemCalendar calendar = new ItemCalendar();
+        calendar.put(1, day(1), day(2));
+        calendar.put(1, day(5), day(6));
+
+        assertThat(calendar.busy(day(0), day(10))).containsExactly(new BookingPeriod(day(5), day(6)));
+
+        calendar.remove(1);
+        calendar.remove(2);
+
+        assertThat(calendar.busy(day(0), day(10))).isEmpty();
+    }
+
+    private static LocalDateTime day(int day) {
+        return BASE.plusDays(day);
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.BaseIntegrationTest;
+import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.interfaces.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ItemCacheTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void findById_shouldServeRepeatedLookupsFromSecondLevelCache() {
+        ownerName();
+        statistics.clear();
+
+        assertThat(ownerName()).isEqualTo("owner");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("items").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void save_shouldReplaceCachedItem() {
+        itemRepository.findById(item.getId());
+
+        item.setName("Перфоратор");
+        itemRepository.save(item);
+
+        assertThat(itemRepository.findById(item.getId())).get()
+                .extracting(Item::getName)
+                .isEqualTo("Перфоратор");
+    }
+
+    @Test
+    void update_shouldNotCacheItemOfRolledBackTransaction() {
+        itemRepository.findById(item.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.update(item.getId(), ItemDtoRequest.builder().name("Перфоратор").build(), owner.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemRepository.findById(item.getId())).get()
+                .extracting(Item::getName)
+                .isEqualTo("Дрель");
+    }
+
+    @Test
+    void update_shouldKeepOtherItemsCached() {
+        Item other = itemRepository.save(Item.builder()
+                .name("Отвёртка")
+                .description("Крестовая отвёртка")
+                .available(true)
+                .user(owner)
+                .build());
+
+        itemService.update(item.getId(), ItemDtoRequest.builder().name("Перфоратор").build(), owner.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, other.getId())).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isTrue();
+        assertThat(itemRepository.findById(item.getId())).get()
+                .extracting(Item::getName)
+                .isEqualTo("Перфоратор");
+    }
+
+    @Test
+    void updateUser_shouldRefreshOwnerOfCachedItems() {
+        ownerName();
+
+        userService.update(owner.getId(), User.builder().name("new owner").build());
+
+        assertThat(ownerName()).isEqualTo("new owner");
+    }
+
+    @Test
+    void deleteUser_shouldEvictItemsRegion() {
+        User other = userRepository.save(User.builder().name("other").email("other@mail.ru").build());
+        itemRepository.findById(item.getId());
+
+        userService.deleteById(other.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isFalse();
+    }
+
+    @Test
+    void actuator_shouldExposeItemsRegionHitsMissesAndEvictions() throws Exception {
+        entityManagerFactory.getCache().evict(Item.class);
+        ownerName();
+        ownerName();
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:items").param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(1.0)));
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:items").param("tag", "result:miss"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(1.0)));
+        mockMvc.perform(get("/actuator/metrics/cache.evictions").param("tag", "cache:items"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(0.0)));
+    }
+
+    private String ownerName() {
+        return transactionTemplate.execute(status -> itemRepository.findById(item.getId()).orElseThrow()
+                .getUser().getName());
+    }
+}
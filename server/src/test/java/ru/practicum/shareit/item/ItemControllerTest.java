@@ -9,9 +9,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingPeriod;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.interfaces.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -65,7 +67,8 @@ class ItemControllerTest {
 
     @Test
     void getByOwner_whenItemsExist_thenReturnItems() throws Exception {
-        Mockito.when(itemService.getByOwner(anyInt())).thenReturn(List.of(itemDtoResponse));
+        Mockito.when(itemService.getByOwner(anyInt()))
+                .thenReturn(List.of(new ItemDto(1, "Test Item", "Description", true, null, null, null, null)));
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 1))
@@ -86,7 +89,7 @@ class ItemControllerTest {
 
     @Test
     void search_whenTextProvided_thenReturnItems() throws Exception {
-        Mockito.when(itemService.search("Test")).thenReturn(List.of(itemDtoResponse));
+        Mockito.when(itemService.search("Test", 0, 10)).thenReturn(List.of(itemDtoResponse));
 
         mockMvc.perform(get("/items/search?text=Test"))
                 .andExpect(status().isOk())
@@ -94,9 +97,18 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Test Item"));
     }
 
+    @Test
+    void search_whenFuzzy_thenUseFuzzySearch() throws Exception {
+        Mockito.when(itemService.fuzzySearch("Tset", 0, 10)).thenReturn(List.of(itemDtoResponse));
+
+        mockMvc.perform(get("/items/search?text=Tset&fuzzy=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     @Test
     void search_whenNoTextProvided_thenReturnEmptyList() throws Exception {
-        Mockito.when(itemService.search("")).thenReturn(List.of());
+        Mockito.when(itemService.search("", 0, 10)).thenReturn(List.of());
 
         mockMvc.perform(get("/items/search?text="))
                 .andExpect(status().isOk())
@@ -154,4 +166,23 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.authorName").value("Nice comment!"));
     }
 
+    @Test
+    void getAvailability_whenPeriodProvided_thenReturnBusyAndFreePeriods() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(1);
+        Mockito.when(itemService.getAvailability(1, from, to)).thenReturn(ItemAvailabilityDto.builder()
+                .itemId(1)
+                .from(from)
+                .to(to)
+                .busy(List.of(new BookingPeriod(from, from.plusHours(2))))
+                .free(List.of(new BookingPeriod(from.plusHours(2), to)))
+                .build());
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.busy[0].end").value("2030-01-01T12:00:00"))
+                .andExpect(jsonPath("$.free[0].start").value("2030-01-01T12:00:00"));
+    }
 }
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ItemRepositoryTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+    }
+
+    @Test
+    void search_shouldSkipUnavailableItemsMatchedByDescription() {
+        save("Отвертка", "Крестовая", true);
+        save("Молоток", "Тяжелая дрель в комплекте", false);
+
+        List<Item> result = itemRepository.search("дрель", 0, 10);
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void search_shouldRankNameMatchesFirst() {
+        Item byDescription = save("Набор", "Дрель и биты", true);
+        Item byName = save("Дрель аккумуляторная", "Без зарядки", true);
+
+        List<Item> result = itemRepository.search("ДРЕЛЬ", 0, 10);
+
+        assertThat(result).extracting(Item::getId).containsExactly(byName.getId(), byDescription.getId());
+    }
+
+    @Test
+    void search_shouldPaginate() {
+        Item first = save("Дрель 1", "Ударная", true);
+        Item second = save("Дрель 2", "Ударная", true);
+        Item third = save("Дрель 3", "Ударная", true);
+
+        assertThat(itemRepository.search("дрель", 0, 2)).extracting(Item::getId)
+                .containsExactly(first.getId(), second.getId());
+        assertThat(itemRepository.search("дрель", 2, 2)).extracting(Item::getId)
+                .containsExactly(third.getId());
+    }
+
+    @Test
+    void findByNamePrefix_shouldMatchEscapedWildcardsLiterally() {
+        Item percent = save("50% скидка", "Купон", true);
+        save("500 гвоздей", "Коробка", true);
+        Item underscore = save("a_b", "Буквы", true);
+        save("acb", "Буквы", true);
+
+        assertThat(itemRepository.findByNamePrefix("50\\%", Limit.of(10))).extracting(ItemShortDto::getId)
+                .containsExactly(percent.getId());
+        assertThat(itemRepository.findByNamePrefix("a\\_", Limit.of(10))).extracting(ItemShortDto::getId)
+                .containsExactly(underscore.getId());
+    }
+
+    private Item save(String name, String description, boolean available) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .user(owner)
+                .build());
+    }
+}
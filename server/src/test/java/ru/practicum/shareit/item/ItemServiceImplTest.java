@@ -6,11 +6,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingPeriod;
+import ru.practicum.shareit.booking.ItemAvailabilityIndex;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.interfaces.CommentRepository;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
@@ -44,6 +48,12 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -136,7 +146,6 @@ class ItemServiceImplTest {
     void update_ShouldUpdateItem_WhenOwnerIsCorrect() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(itemRepository.save(any(Item.class))).thenReturn(item);
 
         ItemDtoRequest updateRequest = ItemDtoRequest.builder()
                 .name("Updated Item")
@@ -146,26 +155,41 @@ class ItemServiceImplTest {
 
         ItemDtoResponse result = itemService.update(item.getId(), updateRequest, user.getId());
 
-        assertThat(result.getName()).isEqualTo("Test Item");
-        assertThat(result.getAvailable()).isTrue();
+        assertThat(result.getName()).isEqualTo("Updated Item");
+        assertThat(result.getDescription()).isEqualTo("Updated Description");
+        assertThat(result.getAvailable()).isFalse();
+        verify(itemSearchIndex).index(item);
+        verify(itemRepository, never()).save(any(Item.class));
     }
 
     @Test
-    void update_ShouldThrowException_WhenUserIsNotOwner() {
-        User otherUser = User.builder().id(2).build();
+    void update_ShouldThrowException_WhenUserNotFound() {
+        when(userRepository.findById(2)).thenReturn(Optional.empty());
+
+        ItemDtoRequest request = ItemDtoRequest.builder()
+                .name("Test")
+                .build();
 
-        userRepository.save(otherUser);
+        assertThatThrownBy(() -> itemService.update(item.getId(), request, 2))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Не найден пользователь с id - 2");
+        verify(itemRepository, never()).findById(any());
+    }
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    @Test
+    void update_ShouldThrowValidationException_WhenItemBelongsToAnotherUser() {
+        when(userRepository.findById(2)).thenReturn(Optional.of(User.builder().id(2).build()));
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         ItemDtoRequest request = ItemDtoRequest.builder()
                 .name("Test")
                 .build();
 
-        assertThatThrownBy(() -> itemService.update(item.getId(), request, otherUser.getId()))
-                .isInstanceOf(NotFoundException.class)
-                .hasMessage("Не найден пользователь с id - 2");
+        assertThatThrownBy(() -> itemService.update(item.getId(), request, 2))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Item с id - " + item.getId() + " не принаджелит пользователю - 2");
+        assertThat(item.getName()).isEqualTo("Test Item");
+        verifyNoInteractions(itemSearchIndex);
     }
 
     @Test
@@ -180,14 +204,72 @@ class ItemServiceImplTest {
 
     @Test
     void search_ShouldReturnItems_WhenTextIsProvided() {
-        when(itemRepository.search("Test")).thenReturn(List.of(item));
+        when(itemRepository.search("Test", 0, 10)).thenReturn(List.of(item));
 
-        List<ItemDtoResponse> result = itemService.search("Test").stream().toList();
+        List<ItemDtoResponse> result = itemService.search("Test", 0, 10).stream().toList();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo(item.getName());
     }
 
+    @Test
+    void search_ShouldLoadOnlyRequestedPageOfIndexCandidates() {
+        Item second = new Item(2, "Test hammer", "Heavy", true, user, null);
+        when(itemSearchIndex.search("Test")).thenReturn(Optional.of(new int[]{3, 2, 1}));
+        when(itemRepository.findAllByIdIn(List.of(2, 1))).thenReturn(List.of(item, second));
+
+        List<ItemDtoResponse> result = itemService.search("Test", 1, 2).stream().toList();
+
+        assertThat(result).extracting(ItemDtoResponse::getId).containsExactly(2, item.getId());
+        verify(itemRepository, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void search_ShouldReturnEmptyPage_WhenOffsetIsPastCandidates() {
+        when(itemSearchIndex.search("Test")).thenReturn(Optional.of(new int[]{1}));
+
+        assertThat(itemService.search("Test", 5, 10)).isEmpty();
+        verify(itemRepository, never()).findAllByIdIn(any());
+    }
+
+    @Test
+    void search_ShouldKeepCandidatesMatchedByStem() {
+        when(itemSearchIndex.search("Testing items")).thenReturn(Optional.of(new int[]{1}));
+        when(itemRepository.findAllByIdIn(List.of(1))).thenReturn(List.of(item));
+
+        assertThat(itemService.search("Testing items", 0, 10)).extracting(ItemDtoResponse::getId)
+                .containsExactly(item.getId());
+    }
+
+    @Test
+    void fuzzySearch_ShouldServeFromIndexAndSkipDeletedItems() {
+        when(itemSearchIndex.fuzzySearch("Tesst Iten")).thenReturn(Optional.of(new int[]{1, 2}));
+        when(itemRepository.findAllByIdIn(List.of(1, 2))).thenReturn(List.of(item));
+
+        List<ItemDtoResponse> result = itemService.fuzzySearch("Tesst Iten", 0, 10).stream().toList();
+
+        assertThat(result).extracting(ItemDtoResponse::getId).containsExactly(item.getId());
+    }
+
+    @Test
+    void fuzzySearch_ShouldFallBackToExactSearch_WhenIndexIsNotReady() {
+        when(itemSearchIndex.fuzzySearch("Test")).thenReturn(Optional.empty());
+        when(itemSearchIndex.search("Test")).thenReturn(Optional.empty());
+        when(itemRepository.search("Test", 0, 10)).thenReturn(List.of(item));
+
+        assertThat(itemService.fuzzySearch("Test", 0, 10)).extracting(ItemDtoResponse::getId)
+                .containsExactly(item.getId());
+    }
+
+    @Test
+    void autocomplete_ShouldEscapeLikeWildcards_WhenIndexNotReady() {
+        when(itemSearchIndex.autocomplete("50%_\\", 5)).thenReturn(Optional.empty());
+
+        itemService.autocomplete("50%_\\", 5);
+
+        verify(itemRepository).findByNamePrefix("50\\%\\_\\\\", Limit.of(5));
+    }
+
     @Test
     void addComment_ShouldThrowException_WhenNoBookingsExist() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
@@ -213,7 +295,7 @@ class ItemServiceImplTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRepository.findAllItemsByUserOrderByIdAsc(user)).thenReturn(List.of(item1, item2));
 
-        List<ItemDtoResponse> result = itemService.getByOwner(userId).stream().toList();
+        List<ItemDto> result = itemService.getByOwner(userId).stream().toList();
 
         assertEquals(2, result.size());
         assertEquals("Item 1", result.get(0).getName());
@@ -293,25 +375,47 @@ class ItemServiceImplTest {
     }
 
     @Test
-    void update_ShouldUpdateItem_WhenAllConditionsMet() {
+    void getAvailability_ShouldReturnFreePeriodsBetweenBusyOnes() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemAvailabilityIndex.busy(item.getId(), from, to)).thenReturn(List.of(
+                new BookingPeriod(from, from.plusDays(2)),
+                new BookingPeriod(from.plusDays(5), from.plusDays(6))));
+
+        ItemAvailabilityDto result = itemService.getAvailability(item.getId(), from, to);
+
+        assertThat(result.getBusy()).hasSize(2);
+        assertThat(result.getFree()).containsExactly(
+                new BookingPeriod(from.plusDays(2), from.plusDays(5)),
+                new BookingPeriod(from.plusDays(6), to));
+    }
+
+    @Test
+    void getAvailability_ShouldThrowException_WhenPeriodIsEmpty() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThatThrownBy(() -> itemService.getAvailability(item.getId(), from, from))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(itemAvailabilityIndex);
+    }
+
+    @Test
+    void update_ShouldKeepNameAndDescription_WhenBlankOrMissing() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(itemRepository.save(any(Item.class))).thenReturn(item);
 
         ItemDtoRequest request = ItemDtoRequest.builder()
-                .name(null) // Проверка на замену имени
+                .name("   ") // Пробелы не затирают имя
                 .description(null) // Проверка на замену описания
-                .available(true)
+                .available(false)
                 .build();
 
         ItemDtoResponse result = itemService.update(item.getId(), request, user.getId());
 
-        assertThat(result).isNotNull();
-        assertThat(result.getName()).isEqualTo(item.getName());
+        assertThat(result.getName()).isEqualTo("Test Item");
         assertThat(result.getDescription()).isEqualTo(item.getDescription());
-
-        verify(itemRepository, times(2)).findById(item.getId());
-        verify(itemRepository).save(any(Item.class));
+        assertThat(result.getAvailable()).isFalse();
     }
 
     @Test
@@ -328,7 +432,5 @@ class ItemServiceImplTest {
         assertThatThrownBy(() -> itemService.update(item.getId(), request, user.getId()))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessage("Не найден item с id - " + item.getId());
-
-        verify(itemRepository, times(1)).findById(item.getId());
     }
-}
\ No newline at end of file
+}
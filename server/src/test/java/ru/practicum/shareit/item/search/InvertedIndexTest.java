@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+    }
+
+    @Test
+    void search_shouldMatchSubstringIgnoringCase() {
+        index.add(new ItemSearchDocument(1, "Аккумуляторная ДРЕЛЬ", "Bosch", true, 1));
+
+        assertThat(index.search("дрел")).containsExactly(1);
+        assertThat(index.search("bosch")).containsExactly(1);
+        assertThat(index.search("пила")).isEmpty();
+    }
+
+    @Test
+    void search_shouldReturnNameMatchesBeforeDescriptionMatches() {
+        index.add(new ItemSearchDocument(1, "Набор", "Дрель и биты", true, 1));
+        index.add(new ItemSearchDocument(2, "Дрель", "Ударная дрель", true, 1));
+        index.add(new ItemSearchDocument(3, "Дрель", "Без зарядки", true, 1));
+
+        assertThat(index.search("дрель")).containsExactly(2, 3, 1);
+    }
+
+    @Test
+    void search_shouldSkipUnavailableItems() {
+        index.add(new ItemSearchDocument(1, "Дрель", "Ударная", true, 1));
+        index.add(new ItemSearchDocument(1, "Дрель", "Ударная", false, 1));
+        index.add(new ItemSearchDocument(7, "Отвертка", "Дрель в подарок", false, 1));
+
+        assertThat(index.search("дрель")).isEmpty();
+    }
+
+    @Test
+    void search_shouldMatchInflectedFormsAndFoldYo() {
+        index.add(new ItemSearchDocument(1, "Дрель", "Ударная", true, 1));
+        index.add(new ItemSearchDocument(2, "Ёлочные игрушки", "Набор", true, 1));
+        index.add(new ItemSearchDocument(3, "Cordless drills", "", true, 1));
+
+        assertThat(index.search("дрели")).containsExactly(1);
+        assertThat(index.search("ударной")).containsExactly(1);
+        assertThat(index.search("елочная игрушка")).containsExactly(2);
+        assertThat(index.search("drilling")).containsExactly(3);
+    }
+
+    @Test
+    void fuzzySearch_shouldMatchWordsWithinEditDistance() {
+        index.add(new ItemSearchDocument(1, "Аккумуляторная дрель", "Bosch", true, 1));
+        index.add(new ItemSearchDocument(2, "Пила", "Ручная", true, 1));
+
+        assertThat(index.fuzzySearch("дрелб")).containsExactly(1);
+        assertThat(index.fuzzySearch("акамуляторная дрел")).containsExactly(1);
+        assertThat(index.fuzzySearch("bosh")).containsExactly(1);
+        assertThat(index.fuzzySearch("дрель пила")).isEmpty();
+        assertThat(index.fuzzySearch("молоток")).isEmpty();
+    }
+
+    @Test
+    void fuzzySearch_shouldRankNameMatchesThenCloserMatchesFirst() {
+        index.add(new ItemSearchDocument(1, "Набор", "Дрель и биты", true, 1));
+        index.add(new ItemSearchDocument(2, "Дрели", "", true, 1));
+        index.add(new ItemSearchDocument(3, "Дрель", "", true, 1));
+        index.add(new ItemSearchDocument(4, "Дрель", "", false, 1));
+
+        assertThat(index.fuzzySearch("дрель")).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    void fuzzySearch_shouldRequireExactMatchForShortWords() {
+        index.add(new ItemSearchDocument(1, "Пульт от ТВ", "", true, 1));
+
+        assertThat(index.fuzzySearch("тв")).containsExactly(1);
+        assertThat(index.fuzzySearch("тд")).isEmpty();
+    }
+
+    @Test
+    void distance_shouldStopAfterMaxDistance() {
+        assertThat(BkTree.distance("дрель", "дрели", 2)).isEqualTo(1);
+        assertThat(BkTree.distance("дрель", "перфоратор", 2)).isEqualTo(3);
+        assertThat(BkTree.distance("kitten", "sitting", 5)).isEqualTo(3);
+    }
+
+    @Test
+    void add_shouldKeepPostingsSortedForOutOfOrderIds() {
+        index.add(new ItemSearchDocument(40, "Дрель", "", true, 1));
+        index.add(new ItemSearchDocument(3, "Дрель", "", true, 1));
+        index.add(new ItemSearchDocument(17, "Дрель", "", true, 1));
+        index.add(new ItemSearchDocument(17, "Дрель", "", true, 1));
+
+        assertThat(index.search("дрель")).containsExactly(3, 17, 40);
+    }
+
+    @Test
+    void add_shouldDropPostingsOfPreviousVersion() {
+        index.add(new ItemSearchDocument(1, "Дрель", "Ударная", true, 1));
+        index.add(new ItemSearchDocument(1, "Пила", "Ручная", true, 1));
+
+        assertThat(index.search("дрель")).isEmpty();
+        assertThat(index.search("ударная")).isEmpty();
+        assertThat(index.fuzzySearch("дрел")).isEmpty();
+        assertThat(index.search("пила")).containsExactly(1);
+    }
+
+    @Test
+    void search_shouldDropCandidatesWithAllTrigramsButNoSubstring() {
+        index.add(new ItemSearchDocument(1, "абвгаб", "", true, 1));
+        index.add(new ItemSearchDocument(2, "бвгабв", "", true, 1));
+
+        assertThat(index.search("абвгабв")).isEmpty();
+        assertThat(index.search(" бвгаб ")).containsExactly(1, 2);
+    }
+}
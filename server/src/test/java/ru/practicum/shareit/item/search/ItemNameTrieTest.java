@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemNameTrieTest {
+
+    private ItemNameTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new ItemNameTrie();
+    }
+
+    @Test
+    void complete_shouldReturnShortestAvailableNamesFirst() {
+        trie.put(new ItemSearchDocument(1, "Дрель ударная", "", true, 1));
+        trie.put(new ItemSearchDocument(2, "Дрель", "", true, 1));
+        trie.put(new ItemSearchDocument(3, "Дрель-шуруповерт", "", false, 1));
+        trie.put(new ItemSearchDocument(4, "Пила", "", true, 1));
+
+        assertThat(trie.complete("ДР", 10)).extracting(ItemSearchDocument::getId).containsExactly(2, 1);
+        assertThat(trie.complete("др", 1)).extracting(ItemSearchDocument::getId).containsExactly(2);
+        assertThat(trie.complete("молоток", 10)).isEmpty();
+    }
+
+    @Test
+    void put_shouldMoveRenamedItemAndDropUnavailable() {
+        trie.put(new ItemSearchDocument(1, "Дрель", "", true, 1));
+        trie.put(new ItemSearchDocument(2, "Дрель большая", "", true, 1));
+
+        trie.put(new ItemSearchDocument(1, "Пила", "", true, 1));
+        trie.put(new ItemSearchDocument(2, "Дрель большая", "", false, 1));
+
+        assertThat(trie.complete("дрель", 10)).isEmpty();
+        assertThat(trie.complete("пи", 10)).extracting(ItemSearchDocument::getId).containsExactly(1);
+    }
+
+    @Test
+    void complete_shouldKeepTopSuggestionsAfterRemoval() {
+        for (int id = 1; id <= ItemNameTrie.MAX_SUGGESTIONS + 5; id++) {
+            trie.put(new ItemSearchDocument(id, "Дрель " + (char) ('a' + id), "", true, 1));
+        }
+
+        trie.put(new ItemSearchDocument(1, "Дрель " + (char) ('a' + 1), "", false, 1));
+
+        assertThat(trie.complete("дрель", ItemNameTrie.MAX_SUGGESTIONS))
+                .hasSize(ItemNameTrie.MAX_SUGGESTIONS)
+                .extracting(ItemSearchDocument::getId)
+                .doesNotContain(1)
+                .contains(ItemNameTrie.MAX_SUGGESTIONS + 1);
+    }
+
+    @Test
+    void remove_shouldDropItemFromSuggestions() {
+        trie.put(new ItemSearchDocument(1, "Дрель", "", true, 1));
+        trie.put(new ItemSearchDocument(2, "Дрель ударная", "", true, 1));
+
+        trie.remove(1);
+        trie.remove(3);
+
+        assertThat(trie.complete("др", 10)).extracting(ItemSearchDocument::getId).containsExactly(2);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.BaseIntegrationTest;
+import ru.practicum.shareit.item.ItemDtoRequest;
+import ru.practicum.shareit.item.ItemDtoResponse;
+import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.user.interfaces.UserService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchIndexTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void index_shouldIgnoreItemOfRolledBackTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.create(request("Перфоратор"), owner.getId());
+            assertThat(itemSearchIndex.search("перфоратор")).get().isEqualTo(new int[0]);
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemSearchIndex.search("перфоратор")).get().isEqualTo(new int[0]);
+        assertThat(itemSearchIndex.autocomplete("перф", 10)).hasValue(List.of());
+    }
+
+    @Test
+    void removeOwner_shouldDropItemsDeletedWithUser() {
+        ItemDtoResponse created = itemService.create(request("Перфоратор"), owner.getId());
+        assertThat(itemSearchIndex.search("перфоратор")).get().isEqualTo(new int[]{created.getId()});
+
+        userService.deleteById(owner.getId());
+
+        assertThat(itemSearchIndex.search("перфоратор")).get().isEqualTo(new int[0]);
+        assertThat(itemSearchIndex.autocomplete("перф", 10)).hasValue(List.of());
+    }
+
+    private ItemDtoRequest request(String name) {
+        return ItemDtoRequest.builder()
+                .name(name)
+                .description("Ударный перфоратор")
+                .available(true)
+                .build();
+    }
+}
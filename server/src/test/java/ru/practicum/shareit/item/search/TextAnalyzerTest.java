@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextAnalyzerTest {
+
+    @Test
+    void normalize_shouldFoldCaseAndYo() {
+        assertThat(TextAnalyzer.normalize("Ёлочная ЁМКОСТЬ")).isEqualTo("елочная емкость");
+        String normalized = "дрель";
+        assertThat(TextAnalyzer.normalize(normalized)).isSameAs(normalized);
+        assertThat(TextAnalyzer.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void words_shouldSplitOnPunctuation() {
+        assertThat(TextAnalyzer.words("Дрель-шуруповерт, Bosch 18V!")).containsExactly("дрель", "шуруповерт", "bosch", "18v");
+        assertThat(TextAnalyzer.words(" ,. ")).isEmpty();
+    }
+
+    @Test
+    void stem_shouldReduceRussianInflections() {
+        assertThat(TextAnalyzer.stems("дрель дрели дрелью дрелей")).containsOnly("дрел");
+        assertThat(TextAnalyzer.stems("ударная ударной ударную")).containsOnly("ударн");
+        assertThat(TextAnalyzer.stem("лес")).isEqualTo("лес");
+    }
+
+    @Test
+    void stem_shouldReduceEnglishInflections() {
+        assertThat(TextAnalyzer.stems("drill drills drilling drilled")).containsOnly("drill");
+        assertThat(TextAnalyzer.stem("batteries")).isEqualTo("battery");
+        assertThat(TextAnalyzer.stem("boxes")).isEqualTo("box");
+        assertThat(TextAnalyzer.stem("glass")).isEqualTo("glass");
+    }
+}
@@ -5,6 +5,7 @@ import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemDtoRequest;
 import ru.practicum.shareit.item.ItemDtoResponse;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemShortDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.UserMapper;
@@ -70,6 +71,30 @@ class ItemMapperTest {
         assertThat(result.getName()).isEqualTo(item.getName());
         assertThat(result.getDescription()).isEqualTo(item.getDescription());
         assertThat(result.getAvailable()).isEqualTo(item.getAvailable());
-        assertThat(result.getOwner()).isEqualTo(item.getUser());
+        assertThat(result.getOwner().getId()).isEqualTo(item.getUser().getId());
+        assertThat(result.getOwner().getName()).isEqualTo(item.getUser().getName());
+    }
+
+    @Test
+    void toItemShortDto_ShouldKeepOnlyIdNameAndOwnerId() {
+        User user = User.builder()
+                .id(1)
+                .name("John Doe")
+                .email("john@example.com")
+                .build();
+
+        Item item = Item.builder()
+                .id(3)
+                .name("Test Item")
+                .description("Test Description")
+                .available(true)
+                .user(user)
+                .build();
+
+        ItemShortDto result = ItemMapper.toItemShortDto(item);
+
+        assertThat(result.getId()).isEqualTo(item.getId());
+        assertThat(result.getName()).isEqualTo(item.getName());
+        assertThat(result.getOwnerId()).isEqualTo(user.getId());
     }
 }
@@ -9,7 +9,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserShortDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -38,7 +38,7 @@ class ItemRequestControllerTest {
 
     @BeforeEach
     void setUp() {
-        User requestor = new User(1, "User", "user@example.com");
+        UserShortDto requestor = new UserShortDto(1, "User");
         itemRequestDto = new ItemRequestDto(
                 1,
                 "Need a laptop",
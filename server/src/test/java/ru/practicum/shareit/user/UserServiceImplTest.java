@@ -1,11 +1,18 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import ru.practicum.shareit.booking.ItemAvailabilityIndex;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 
 import java.util.List;
@@ -22,6 +29,18 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private Cache hibernateCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -30,6 +49,7 @@ class UserServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.getCache().unwrap(Cache.class)).thenReturn(hibernateCache);
         user = User.builder()
                 .id(1)
                 .name("John Doe")
@@ -127,12 +147,17 @@ class UserServiceImplTest {
     @Test
     void deleteById_ShouldDeleteUser_WhenUserExists() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        doNothing().when(userRepository).deleteById(user.getId());
+        doNothing().when(userRepository).delete(user);
 
         userService.deleteById(user.getId());
 
-        verify(userRepository).findById(user.getId());
-        verify(userRepository).deleteById(user.getId());
+        verify(userRepository, times(1)).findById(user.getId());
+        verify(userRepository).delete(user);
+        verify(itemAvailabilityIndex).releaseUser(user.getId());
+        verify(itemSearchIndex).removeOwner(user.getId());
+        verify(hibernateCache).evict(Item.class);
+        verify(hibernateCache).evict(ItemRequest.class);
+        verify(hibernateCache).evictQueryRegions();
     }
 
 
@@ -145,7 +170,8 @@ class UserServiceImplTest {
                 .hasMessage("Пользователь с id - 99 не найден.");
 
         verify(userRepository, times(1)).findById(99);
-        verify(userRepository, never()).deleteById(anyInt());
+        verify(userRepository, never()).delete(any(User.class));
+        verify(itemAvailabilityIndex, never()).releaseUser(anyInt());
     }
 
     @Test